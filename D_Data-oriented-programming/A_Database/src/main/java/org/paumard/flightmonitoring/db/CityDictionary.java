@@ -0,0 +1,68 @@
+package org.paumard.flightmonitoring.db;
+
+import org.paumard.flightmonitoring.business.model.City;
+import org.paumard.flightmonitoring.business.model.CityCodes;
+import org.paumard.flightmonitoring.db.model.CityEntity;
+
+import java.util.List;
+import java.util.Map;
+
+public final class CityDictionary {
+
+    public static final int ID_CODE_LENGTH = 2;
+
+    private static final int CHAR_BITS = 7;
+
+    private final CityEntity[] citiesByIdCode = new CityEntity[1 << (ID_CODE_LENGTH * CHAR_BITS)];
+    private final List<String> idCodes;
+
+    public CityDictionary(Map<String, String> cityNames) {
+        for (var entry : cityNames.entrySet()) {
+            var idCode = entry.getKey();
+            if (idCode.length() != ID_CODE_LENGTH) {
+                throw new IllegalArgumentException("A city code should have " + ID_CODE_LENGTH + " characters: " + idCode);
+            }
+            var index = index(idCode, 0);
+            if (index < 0 || citiesByIdCode[index] != null) {
+                throw new IllegalArgumentException("Invalid or duplicate city code: " + idCode);
+            }
+            var code = CityCodes.instance().codeOf(new City(entry.getValue()));
+            citiesByIdCode[index] = new CityEntity(code, entry.getValue());
+        }
+        this.idCodes = cityNames.keySet().stream().sorted().toList();
+    }
+
+    public CityEntity cityEntity(String flightId, int offset) {
+        var index = index(flightId, offset);
+        var cityEntity = index < 0 ? null : citiesByIdCode[index];
+        if (cityEntity == null) {
+            throw new IllegalArgumentException(
+                    "Unknown city code in " + flightId + " at " + offset);
+        }
+        return cityEntity;
+    }
+
+    public static City city(CityEntity cityEntity) {
+        return CityCodes.instance().city(cityEntity.code());
+    }
+
+    public List<String> idCodes() {
+        return idCodes;
+    }
+
+    public int size() {
+        return idCodes.size();
+    }
+
+    private static int index(String flightId, int offset) {
+        if (offset < 0 || offset + ID_CODE_LENGTH > flightId.length()) {
+            return -1;
+        }
+        var first = flightId.charAt(offset);
+        var second = flightId.charAt(offset + 1);
+        if ((first | second) >= 1 << CHAR_BITS) {
+            return -1;
+        }
+        return first << CHAR_BITS | second;
+    }
+}
@@ -1,78 +1,68 @@
 package org.paumard.flightmonitoring.db;
 
+import org.paumard.flightmonitoring.business.metrics.Counter;
+import org.paumard.flightmonitoring.business.metrics.LatencyHistogram;
+import org.paumard.flightmonitoring.business.metrics.Metrics;
 import org.paumard.flightmonitoring.business.model.*;
+import org.paumard.flightmonitoring.business.ranking.RankedFlight;
 import org.paumard.flightmonitoring.business.service.DBService;
+import org.paumard.flightmonitoring.business.service.PriceBatch;
+import org.paumard.flightmonitoring.db.history.PriceStats;
 import org.paumard.flightmonitoring.db.model.*;
+import org.paumard.flightmonitoring.db.route.CityGraph;
+import org.paumard.flightmonitoring.db.route.RouteSearch;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 public class FlightDBService implements DBService {
 
-    private static Map<String, CityEntity> cities = Map.ofEntries(
-            Map.entry("Pa", new CityEntity("Paris")),
-            Map.entry("Lo", new CityEntity("London")),
-            Map.entry("Am", new CityEntity("Amsterdam")),
-            Map.entry("Fr", new CityEntity("Francfort")),
-            Map.entry("NY", new CityEntity("New York")),
-            Map.entry("Wa", new CityEntity("Washington")),
-            Map.entry("At", new CityEntity("Atlanta")),
-            Map.entry("Mi", new CityEntity("Miami"))
-    );
+    private static final Counter FETCHED_FLIGHTS = Metrics.instance().counter("db.fetch.flights");
+    private static final LatencyHistogram FETCH_LATENCY = Metrics.instance().histogram("db.fetch.latency");
+    private static final LatencyHistogram BULK_FETCH_LATENCY = Metrics.instance().histogram("db.fetch.bulk.latency");
 
-    private static Map<SimpleFlightPK, SimpleFlightEntity> simpleFlights = new HashMap<>();
-    private static Map<MultilegFlightPK, MultilegFlightEntity> multilegFlights = new HashMap<>();
+    private final FlightEntityStore entityStore;
+    private final PriceWriter priceWriter;
+    private volatile RouteSearch routeSearch;
+
+    public FlightDBService() {
+        this(new FlightEntityStore());
+    }
+
+    public FlightDBService(Path storage) throws IOException {
+        this(new FlightEntityStore(storage));
+    }
+
+    public FlightDBService(FlightEntityStore entityStore) {
+        this.entityStore = entityStore;
+        this.priceWriter = new PriceWriter(entityStore);
+    }
 
     public Flight fetchFlight(FlightID flightId) {
         System.out.println("Fetching flight " + flightId);
 
-        var flightPK = switch (flightId) {
-            case SimpleFlightID(String id) -> new SimpleFlightPK(id);
-            case MultilegFlightID(String id) -> new MultilegFlightPK(id);
-        };
-        var flightEntity = switch (flightPK) {
-            case SimpleFlightPK simpleFlightPK -> simpleFlights.computeIfAbsent(
-                    simpleFlightPK,
-                    _ -> {
-                        var from = simpleFlightPK.flightId().substring(0, 2);
-                        var to = simpleFlightPK.flightId().substring(2);
-
-                        return new SimpleFlightEntity(
-                                simpleFlightPK,
-                                cities.get(from), cities.get(to),
-                                new PriceEntity(100), new PlaneEntity("Airbus A350"));
-                    });
-            case MultilegFlightPK multilegFlightPK -> multilegFlights.computeIfAbsent(
-                    multilegFlightPK,
-                    _ -> {
-                        var from = multilegFlightPK.flightId().substring(0, 2);
-                        var via = multilegFlightPK.flightId().substring(2, 4);
-                        var to = multilegFlightPK.flightId().substring(4);
-
-                        return new MultilegFlightEntity(
-                                multilegFlightPK,
-                                cities.get(from), cities.get(via), cities.get(to),
-                                new PriceEntity(100), new PlaneEntity("Airbus A350"));
-                    });
+        var event = new FlightFetchEvent();
+        event.begin();
+        var start = System.nanoTime();
+        Flight flight = switch (flightPK(flightId)) {
+            case SimpleFlightPK simpleFlightPK -> toSimpleFlight(entityStore.simpleFlight(simpleFlightPK));
+            case MultilegFlightPK multilegFlightPK -> toMultilegFlight(entityStore.multilegFlight(multilegFlightPK));
         };
-
-        return switch (flightPK) {
-            case SimpleFlightPK _ -> {
-                var simpleFlightEntity = (SimpleFlightEntity)flightEntity;
-                var from = new City(simpleFlightEntity.from().name());
-                var to = new City(simpleFlightEntity.to().name());
-                var id = new SimpleFlightID(simpleFlightEntity.id().flightId());
-                yield new SimpleFlight(id, from, to);
-            }
-            case MultilegFlightPK _ -> {
-                var multilegFlightEntity = (MultilegFlightEntity)flightEntity;
-                var from = new City(multilegFlightEntity.from().name());
-                var via = new City(multilegFlightEntity.via().name());
-                var to = new City(multilegFlightEntity.to().name());
-                var id = new MultilegFlightID(multilegFlightEntity.id().flightId());
-                yield new MultilegFlight(id, from, via, to);
+        FETCH_LATENCY.recordSince(start);
+        FETCHED_FLIGHTS.increment();
+        event.end();
+        if (event.shouldCommit()) {
+            switch (flight) {
+                case SimpleFlight _ -> event.simpleFlights = 1;
+                case MultilegFlight _ -> event.multilegFlights = 1;
             }
-        };
+            event.commit();
+        }
+        return flight;
 
 //        return switch (flightEntity) {
 //            case SimpleFlightEntity simpleFlightEntity -> {
@@ -83,7 +73,7 @@ public class FlightDBService implements DBService {
 //            }
 //            case MultilegFlightEntity multilegFlightEntity -> {
 //                var from = new City(multilegFlightEntity.from().name());
-//                var via = new City(multilegFlightEntity.via().name());
+//                var via = new City(multilegFlightEntity.via(0).name());
 //                var to = new City(multilegFlightEntity.to().name());
 //                var id = new MultilegFlightID(multilegFlightEntity.id().flightId());
 //                yield new MultilegFlight(id, from, via, to);
@@ -91,4 +81,123 @@ public class FlightDBService implements DBService {
 //            default -> throw new IllegalStateException("Unexpected value: " + flightEntity);
 //        };
     }
+
+    public List<Flight> fetchFlights(Collection<? extends FlightID> flightIds) {
+        System.out.println("Fetching " + flightIds.size() + " flights");
+
+        var event = new FlightFetchEvent();
+        event.begin();
+        var start = System.nanoTime();
+        var flights = new Flight[flightIds.size()];
+        var simpleFlightIds = new SimpleFlightID[flights.length];
+        var simpleFlightPositions = new int[flights.length];
+        var simpleFlightCount = 0;
+        var multilegFlightIds = new MultilegFlightID[flights.length];
+        var multilegFlightPositions = new int[flights.length];
+        var multilegFlightCount = 0;
+
+        var position = 0;
+        for (var flightId : flightIds) {
+            switch (flightId) {
+                case SimpleFlightID simpleFlightId -> {
+                    simpleFlightIds[simpleFlightCount] = simpleFlightId;
+                    simpleFlightPositions[simpleFlightCount++] = position;
+                }
+                case MultilegFlightID multilegFlightId -> {
+                    multilegFlightIds[multilegFlightCount] = multilegFlightId;
+                    multilegFlightPositions[multilegFlightCount++] = position;
+                }
+            }
+            position++;
+        }
+
+        for (int index = 0; index < simpleFlightCount; index++) {
+            var flightPK = new SimpleFlightPK(simpleFlightIds[index].id());
+            flights[simpleFlightPositions[index]] = toSimpleFlight(entityStore.simpleFlight(flightPK));
+        }
+        for (int index = 0; index < multilegFlightCount; index++) {
+            var flightPK = new MultilegFlightPK(multilegFlightIds[index].id());
+            flights[multilegFlightPositions[index]] = toMultilegFlight(entityStore.multilegFlight(flightPK));
+        }
+
+        BULK_FETCH_LATENCY.recordSince(start);
+        FETCHED_FLIGHTS.add(flights.length);
+        event.end();
+        if (event.shouldCommit()) {
+            event.simpleFlights = simpleFlightCount;
+            event.multilegFlights = multilegFlightCount;
+            event.bulk = true;
+            event.commit();
+        }
+        return Arrays.asList(flights);
+    }
+
+    public void updatePrices(PriceBatch batch) {
+        priceWriter.submit(batch);
+    }
+
+    public PriceStats priceStats(FlightID flightId, Instant from, Instant to) {
+        return entityStore.priceStats(flightPK(flightId), from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    public List<RankedFlight> cheapestRoutes(City from, City to, int count, int maxLegs) {
+        var itineraries = routeSearch().cheapest(from, to, count, maxLegs);
+        var routes = new RankedFlight[itineraries.size()];
+        for (int index = 0; index < routes.length; index++) {
+            var itinerary = itineraries.get(index);
+            routes[index] = new RankedFlight(itinerary.flight(), itinerary.price());
+        }
+        return List.of(routes);
+    }
+
+    public CityGraph cityGraph() {
+        return routeSearch().graph();
+    }
+
+    public void close() throws IOException {
+        try {
+            priceWriter.close();
+        } finally {
+            entityStore.close();
+        }
+    }
+
+    static FlightPK flightPK(FlightID flightId) {
+        return switch (flightId) {
+            case SimpleFlightID(String id) -> new SimpleFlightPK(id);
+            case MultilegFlightID(String id) -> new MultilegFlightPK(id);
+        };
+    }
+
+    private RouteSearch routeSearch() {
+        var routeSearch = this.routeSearch;
+        if (routeSearch == null) {
+            synchronized (this) {
+                routeSearch = this.routeSearch;
+                if (routeSearch == null) {
+                    routeSearch = new RouteSearch(CityGraph.of(entityStore.routes()));
+                    this.routeSearch = routeSearch;
+                }
+            }
+        }
+        return routeSearch;
+    }
+
+    private static SimpleFlight toSimpleFlight(SimpleFlightEntity simpleFlightEntity) {
+        var from = CityDictionary.city(simpleFlightEntity.from());
+        var to = CityDictionary.city(simpleFlightEntity.to());
+        var id = new SimpleFlightID(simpleFlightEntity.id().flightId());
+        return new SimpleFlight(id, from, to);
+    }
+
+    private static MultilegFlight toMultilegFlight(MultilegFlightEntity multilegFlightEntity) {
+        var codes = new short[multilegFlightEntity.viaCount() + 2];
+        codes[0] = (short) multilegFlightEntity.from().code();
+        for (int index = 0; index < multilegFlightEntity.viaCount(); index++) {
+            codes[index + 1] = (short) multilegFlightEntity.via(index).code();
+        }
+        codes[codes.length - 1] = (short) multilegFlightEntity.to().code();
+        var id = new MultilegFlightID(multilegFlightEntity.id().flightId());
+        return new MultilegFlight(id, codes);
+    }
 }
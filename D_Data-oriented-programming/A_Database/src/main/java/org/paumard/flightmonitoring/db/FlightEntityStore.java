@@ -0,0 +1,196 @@
+package org.paumard.flightmonitoring.db;
+
+import org.paumard.flightmonitoring.business.model.Stops;
+import org.paumard.flightmonitoring.db.history.PriceStats;
+import org.paumard.flightmonitoring.db.model.*;
+import org.paumard.flightmonitoring.db.storage.FlightLog;
+import org.paumard.flightmonitoring.db.storage.FlightLog.FlightCreated;
+import org.paumard.flightmonitoring.db.storage.FlightLog.LogRecord;
+import org.paumard.flightmonitoring.db.storage.FlightLog.PriceUpdated;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class FlightEntityStore implements AutoCloseable {
+
+    private static final int CITY_CODE_LENGTH = CityDictionary.ID_CODE_LENGTH;
+
+    private static final CityDictionary cities = new CityDictionary(Map.ofEntries(
+            Map.entry("Pa", "Paris"),
+            Map.entry("Lo", "London"),
+            Map.entry("Am", "Amsterdam"),
+            Map.entry("Fr", "Francfort"),
+            Map.entry("NY", "New York"),
+            Map.entry("Wa", "Washington"),
+            Map.entry("At", "Atlanta"),
+            Map.entry("Mi", "Miami")
+    ));
+
+    private final Map<SimpleFlightPK, SimpleFlightEntity> simpleFlights = new ConcurrentHashMap<>();
+    private final Map<MultilegFlightPK, MultilegFlightEntity> multilegFlights = new ConcurrentHashMap<>();
+    private final FlightLog log;
+
+    public FlightEntityStore() {
+        this.log = null;
+    }
+
+    public FlightEntityStore(Path path) throws IOException {
+        this.log = FlightLog.open(path, this::replay);
+    }
+
+    public SimpleFlightEntity simpleFlight(SimpleFlightPK simpleFlightPK) {
+        var simpleFlightEntity = simpleFlights.get(simpleFlightPK);
+        if (simpleFlightEntity != null) {
+            return simpleFlightEntity;
+        }
+        var createdEntity = createSimpleFlight(simpleFlightPK);
+        simpleFlightEntity = simpleFlights.putIfAbsent(simpleFlightPK, createdEntity);
+        if (simpleFlightEntity != null) {
+            return simpleFlightEntity;
+        }
+        if (log != null) {
+            log.appendFlight(simpleFlightPK);
+        }
+        return createdEntity;
+    }
+
+    public MultilegFlightEntity multilegFlight(MultilegFlightPK multilegFlightPK) {
+        var multilegFlightEntity = multilegFlights.get(multilegFlightPK);
+        if (multilegFlightEntity != null) {
+            return multilegFlightEntity;
+        }
+        var createdEntity = createMultilegFlight(multilegFlightPK);
+        multilegFlightEntity = multilegFlights.putIfAbsent(multilegFlightPK, createdEntity);
+        if (multilegFlightEntity != null) {
+            return multilegFlightEntity;
+        }
+        if (log != null) {
+            log.appendFlight(multilegFlightPK);
+        }
+        return createdEntity;
+    }
+
+    public FlightEntity flightEntity(FlightPK flightPK) {
+        return switch (flightPK) {
+            case SimpleFlightPK simpleFlightPK -> simpleFlight(simpleFlightPK);
+            case MultilegFlightPK multilegFlightPK -> multilegFlight(multilegFlightPK);
+        };
+    }
+
+    public void updatePrice(FlightPK flightPK, int price, long timestamp) {
+        updatePrice(flightEntity(flightPK), price, timestamp);
+    }
+
+    public void updatePrice(FlightEntity flightEntity, int price, long timestamp) {
+        flightEntity.updatePrice(price, timestamp);
+        if (log != null) {
+            log.appendPrice(flightEntity.id(), price, timestamp);
+        }
+    }
+
+    public PriceStats priceStats(FlightPK flightPK, long from, long to) {
+        FlightEntity flightEntity = switch (flightPK) {
+            case SimpleFlightPK simpleFlightPK -> simpleFlights.get(simpleFlightPK);
+            case MultilegFlightPK multilegFlightPK -> multilegFlights.get(multilegFlightPK);
+        };
+        return flightEntity == null ? PriceStats.EMPTY : flightEntity.priceHistory().stats(from, to);
+    }
+
+    public void flush() {
+        if (log != null) {
+            log.flush();
+        }
+    }
+
+    public void close() throws IOException {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    public Collection<SimpleFlightEntity> simpleFlights() {
+        return List.copyOf(simpleFlights.values());
+    }
+
+    // Every ordered pair of the city table is a route, fetched or not: known entities are reused, the others
+    // are built without being stored or logged, so the routes only change with the (fixed) city table.
+    public Collection<SimpleFlightEntity> routes() {
+        var idCodes = cities.idCodes();
+        var routes = new ArrayList<SimpleFlightEntity>(idCodes.size() * (idCodes.size() - 1));
+        for (var from : idCodes) {
+            for (var to : idCodes) {
+                if (!from.equals(to)) {
+                    var simpleFlightPK = new SimpleFlightPK(from + to);
+                    var simpleFlightEntity = simpleFlights.get(simpleFlightPK);
+                    routes.add(simpleFlightEntity != null ? simpleFlightEntity : createSimpleFlight(simpleFlightPK));
+                }
+            }
+        }
+        return routes;
+    }
+
+    public int simpleFlightCount() {
+        return simpleFlights.size();
+    }
+
+    public int multilegFlightCount() {
+        return multilegFlights.size();
+    }
+
+    private void replay(LogRecord logRecord) {
+        try {
+            replayRecord(logRecord);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Skipping log record " + logRecord + ": " + e.getMessage());
+        }
+    }
+
+    private void replayRecord(LogRecord logRecord) {
+        switch (logRecord) {
+            case FlightCreated(SimpleFlightPK simpleFlightPK) ->
+                    simpleFlights.computeIfAbsent(simpleFlightPK, FlightEntityStore::createSimpleFlight);
+            case FlightCreated(MultilegFlightPK multilegFlightPK) ->
+                    multilegFlights.computeIfAbsent(multilegFlightPK, FlightEntityStore::createMultilegFlight);
+            case PriceUpdated(SimpleFlightPK simpleFlightPK, int price, long timestamp) ->
+                    simpleFlights.computeIfAbsent(simpleFlightPK, FlightEntityStore::createSimpleFlight)
+                            .updatePrice(price, timestamp);
+            case PriceUpdated(MultilegFlightPK multilegFlightPK, int price, long timestamp) ->
+                    multilegFlights.computeIfAbsent(multilegFlightPK, FlightEntityStore::createMultilegFlight)
+                            .updatePrice(price, timestamp);
+        }
+    }
+
+    private static SimpleFlightEntity createSimpleFlight(SimpleFlightPK simpleFlightPK) {
+        var flightId = simpleFlightPK.flightId();
+        if (flightId.length() != 2 * CITY_CODE_LENGTH) {
+            throw new IllegalArgumentException("Not a simple flight ID: " + flightId);
+        }
+
+        return new SimpleFlightEntity(
+                simpleFlightPK,
+                cities.cityEntity(flightId, 0), cities.cityEntity(flightId, CITY_CODE_LENGTH),
+                new PriceEntity(100), new PlaneEntity("Airbus A350"));
+    }
+
+    private static MultilegFlightEntity createMultilegFlight(MultilegFlightPK multilegFlightPK) {
+        var flightId = multilegFlightPK.flightId();
+        var stops = flightId.length() / CITY_CODE_LENGTH;
+        if (flightId.length() % CITY_CODE_LENGTH != 0 || stops < 3 || stops > Stops.MAX_STOPS) {
+            throw new IllegalArgumentException("Not a multileg flight ID: " + flightId);
+        }
+        var via = new CityEntity[stops - 2];
+        for (int index = 0; index < via.length; index++) {
+            via[index] = cities.cityEntity(flightId, (index + 1) * CITY_CODE_LENGTH);
+        }
+
+        return new MultilegFlightEntity(
+                multilegFlightPK,
+                cities.cityEntity(flightId, 0), via, cities.cityEntity(flightId, flightId.length() - CITY_CODE_LENGTH),
+                new PriceEntity(100), new PlaneEntity("Airbus A350"));
+    }
+}
@@ -0,0 +1,23 @@
+package org.paumard.flightmonitoring.db;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.paumard.flightmonitoring.FlightFetch")
+@Label("Flight Fetch")
+@Category({"Flight Monitoring", "Database"})
+@Description("Flights fetched from the database service")
+final class FlightFetchEvent extends Event {
+
+    @Label("Simple Flights")
+    int simpleFlights;
+
+    @Label("Multileg Flights")
+    int multilegFlights;
+
+    @Label("Bulk Fetch")
+    boolean bulk;
+}
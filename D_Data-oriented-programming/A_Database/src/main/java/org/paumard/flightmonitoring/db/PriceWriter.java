@@ -0,0 +1,162 @@
+package org.paumard.flightmonitoring.db;
+
+import org.paumard.flightmonitoring.business.metrics.Counter;
+import org.paumard.flightmonitoring.business.metrics.LatencyHistogram;
+import org.paumard.flightmonitoring.business.metrics.Metrics;
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.service.PriceBatch;
+import org.paumard.flightmonitoring.db.model.FlightEntity;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+final class PriceWriter implements AutoCloseable {
+
+    private static final Counter PRICE_UPDATES = Metrics.instance().counter("db.price.updates");
+    private static final LatencyHistogram PRICE_UPDATE_LATENCY = Metrics.instance().histogram("db.price.update.latency");
+    private static final int QUEUE_CAPACITY = 64;
+
+    private record PendingPrices(PriceBatch batch, long timestamp) {}
+
+    private static final PendingPrices CLOSE = new PendingPrices(new PriceBatch(0), 0L);
+
+    private final FlightEntityStore entityStore;
+    private final long startMillis = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final BlockingQueue<PendingPrices> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private FlightEntity[] flightEntities = new FlightEntity[0];
+    private volatile Thread writer;
+    private volatile boolean closed;
+    private volatile RuntimeException failure;
+
+    PriceWriter(FlightEntityStore entityStore) {
+        this.entityStore = entityStore;
+    }
+
+    void submit(PriceBatch batch) {
+        if (closed) {
+            throw new IllegalStateException("The price writer is closed");
+        }
+        checkFailure();
+        if (writer == null) {
+            start();
+        }
+        try {
+            queue.put(new PendingPrices(batch.copy(), timestamp()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void close() {
+        Thread writer;
+        synchronized (this) {
+            closed = true;
+            writer = this.writer;
+        }
+        if (writer != null) {
+            var interrupted = false;
+            while (true) {
+                try {
+                    queue.put(CLOSE);
+                    writer.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        checkFailure();
+    }
+
+    private synchronized void start() {
+        if (closed) {
+            throw new IllegalStateException("The price writer is closed");
+        }
+        if (writer == null) {
+            writer = Thread.ofPlatform().name("flight-db-writer").daemon().start(this::writePrices);
+        }
+    }
+
+    private long timestamp() {
+        return startMillis + (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    private void checkFailure() {
+        var failure = this.failure;
+        if (failure != null) {
+            throw new IllegalStateException("Price persistence failed", failure);
+        }
+    }
+
+    private void writePrices() {
+        try {
+            while (true) {
+                var pendingPrices = queue.take();
+                while (pendingPrices != null) {
+                    if (pendingPrices == CLOSE) {
+                        flush();
+                        return;
+                    }
+                    write(pendingPrices);
+                    pendingPrices = queue.poll();
+                }
+                flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(PendingPrices pendingPrices) {
+        if (failure != null) {
+            return;
+        }
+        var start = System.nanoTime();
+        var batch = pendingPrices.batch();
+        try {
+            for (int index = 0; index < batch.size(); index++) {
+                entityStore.updatePrice(flightEntity(batch.handle(index)), batch.price(index), pendingPrices.timestamp());
+            }
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        PRICE_UPDATE_LATENCY.recordSince(start);
+        PRICE_UPDATES.add(batch.size());
+    }
+
+    private void flush() {
+        if (failure != null) {
+            return;
+        }
+        try {
+            entityStore.flush();
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(RuntimeException e) {
+        failure = e;
+        System.out.println("Price persistence failed: " + e.getMessage());
+    }
+
+    private FlightEntity flightEntity(int handle) {
+        if (handle >= flightEntities.length) {
+            flightEntities = Arrays.copyOf(flightEntities, Math.max(handle + 1, 2 * flightEntities.length));
+        }
+        var flightEntity = flightEntities[handle];
+        if (flightEntity == null) {
+            var flightPK = FlightDBService.flightPK(FlightHandles.instance().flightID(handle));
+            flightEntity = entityStore.flightEntity(flightPK);
+            flightEntities[handle] = flightEntity;
+        }
+        return flightEntity;
+    }
+}
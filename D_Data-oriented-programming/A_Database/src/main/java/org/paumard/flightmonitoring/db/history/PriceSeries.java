@@ -0,0 +1,252 @@
+package org.paumard.flightmonitoring.db.history;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class PriceSeries {
+
+    // 30 days of 500 ms ticks is 5.18M ticks per flight: about 10 MB when every tick changes the price,
+    // 1.9 MB when one tick in ten does, 230 kB when one in a hundred does, since unchanged ticks are run-length encoded.
+    public static final Duration DEFAULT_RETENTION = Duration.ofDays(30);
+
+    private static final int INITIAL_CHUNK_CAPACITY = 64;
+    private static final int MAX_CHUNK_CAPACITY = 4096;
+    private static final int MAX_RUN_SIZE = 1 + 5;
+    private static final int MAX_ENTRY_SIZE = MAX_RUN_SIZE + 10 + 5;
+
+    private static final class Chunk {
+        private final long firstTimestamp;
+        private final int firstPrice;
+        private long lastTimestamp;
+        private int lastPrice;
+        private long lastDelta;
+        private int min;
+        private int max;
+        private long sum;
+        private int count;
+        private int run;
+        private byte[] data = new byte[INITIAL_CHUNK_CAPACITY];
+        private int length;
+
+        private Chunk(long timestamp, int price) {
+            this.firstTimestamp = timestamp;
+            this.firstPrice = price;
+            this.lastTimestamp = timestamp;
+            this.lastPrice = price;
+            this.min = price;
+            this.max = price;
+            this.sum = price;
+            this.count = 1;
+        }
+
+        private boolean append(long timestamp, int price) {
+            if (length + MAX_ENTRY_SIZE > data.length) {
+                if (data.length == MAX_CHUNK_CAPACITY) {
+                    return false;
+                }
+                data = Arrays.copyOf(data, Math.min(data.length * 2, MAX_CHUNK_CAPACITY));
+            }
+            var delta = timestamp - lastTimestamp;
+            if (delta == lastDelta && price == lastPrice) {
+                run++;
+            } else {
+                if (run > 0) {
+                    length = writeVarLong(data, length, 0L);
+                    length = writeVarLong(data, length, (long) run << 1 | 1L);
+                    run = 0;
+                }
+                length = writeVarLong(data, length, zigzag(delta - lastDelta));
+                length = writeVarLong(data, length, zigzag(price - lastPrice) << 1);
+                lastDelta = delta;
+            }
+            lastTimestamp = timestamp;
+            lastPrice = price;
+            min = Math.min(min, price);
+            max = Math.max(max, price);
+            sum += price;
+            count++;
+            return true;
+        }
+
+        private void accumulate(long from, long to, Accumulator accumulator) {
+            if (from <= firstTimestamp && lastTimestamp < to) {
+                accumulator.add(count, min, max, sum);
+                return;
+            }
+            var timestamp = firstTimestamp;
+            var price = firstPrice;
+            var delta = 0L;
+            if (from <= timestamp && timestamp < to) {
+                accumulator.add(price);
+            }
+            var position = 0;
+            while (position < length) {
+                var value = 0L;
+                var shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    value |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                var deltaOfDelta = unzigzag(value);
+
+                value = 0L;
+                shift = 0;
+                do {
+                    b = data[position++];
+                    value |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+
+                if ((value & 1L) != 0L) {
+                    timestamp = accumulateRun(timestamp, delta, price, (int) (value >>> 1), from, to, accumulator);
+                    if (timestamp >= to) {
+                        return;
+                    }
+                    continue;
+                }
+                delta += deltaOfDelta;
+                timestamp += delta;
+                price += (int) unzigzag(value >>> 1);
+                if (timestamp >= to) {
+                    return;
+                }
+                if (timestamp >= from) {
+                    accumulator.add(price);
+                }
+            }
+            accumulateRun(timestamp, delta, price, run, from, to, accumulator);
+        }
+
+        private static long accumulateRun(long timestamp, long delta, int price, int run,
+                                          long from, long to, Accumulator accumulator) {
+            for (int index = 0; index < run; index++) {
+                timestamp += delta;
+                if (timestamp >= to) {
+                    return timestamp;
+                }
+                if (timestamp >= from) {
+                    accumulator.add(price);
+                }
+            }
+            return timestamp;
+        }
+    }
+
+    private static final class Accumulator {
+        private long count;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+        private long sum;
+
+        private void add(int price) {
+            add(1, price, price, price);
+        }
+
+        private void add(long count, int min, int max, long sum) {
+            this.count += count;
+            this.min = Math.min(this.min, min);
+            this.max = Math.max(this.max, max);
+            this.sum += sum;
+        }
+
+        private PriceStats stats() {
+            return count == 0 ? PriceStats.EMPTY : new PriceStats(count, min, max, (double) sum / count);
+        }
+    }
+
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final long retention;
+    private Chunk current;
+
+    public PriceSeries() {
+        this(DEFAULT_RETENTION);
+    }
+
+    public PriceSeries(Duration retention) {
+        if (retention.isNegative() || retention.isZero()) {
+            throw new IllegalArgumentException("The retention should be positive: " + retention);
+        }
+        this.retention = retention.toMillis();
+    }
+
+    public synchronized void append(long timestamp, int price) {
+        if (current != null) {
+            timestamp = Math.max(timestamp, current.lastTimestamp);
+        }
+        if (current == null || !current.append(timestamp, price)) {
+            current = new Chunk(timestamp, price);
+            chunks.add(current);
+            dropExpiredChunks(timestamp - retention);
+        }
+    }
+
+    public synchronized PriceStats stats(long from, long to) {
+        var accumulator = new Accumulator();
+        for (int index = firstChunk(from); index < chunks.size(); index++) {
+            var chunk = chunks.get(index);
+            if (chunk.firstTimestamp >= to) {
+                break;
+            }
+            chunk.accumulate(from, to, accumulator);
+        }
+        return accumulator.stats();
+    }
+
+    public synchronized long count() {
+        var count = 0L;
+        for (var chunk : chunks) {
+            count += chunk.count;
+        }
+        return count;
+    }
+
+    public synchronized long byteSize() {
+        var size = 0L;
+        for (var chunk : chunks) {
+            size += chunk.data.length;
+        }
+        return size;
+    }
+
+    private void dropExpiredChunks(long expiry) {
+        var expired = firstChunk(expiry);
+        if (expired > 0) {
+            chunks.subList(0, expired).clear();
+        }
+    }
+
+    private int firstChunk(long from) {
+        var low = 0;
+        var high = chunks.size() - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            if (chunks.get(middle).lastTimestamp < from) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static int writeVarLong(byte[] data, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            data[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[position++] = (byte) value;
+        return position;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
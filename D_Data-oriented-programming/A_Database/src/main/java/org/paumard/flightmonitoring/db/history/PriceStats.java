@@ -0,0 +1,6 @@
+package org.paumard.flightmonitoring.db.history;
+
+public record PriceStats(long count, int min, int max, double average) {
+
+    public static final PriceStats EMPTY = new PriceStats(0L, 0, 0, Double.NaN);
+}
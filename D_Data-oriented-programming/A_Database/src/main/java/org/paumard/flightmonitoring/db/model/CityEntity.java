@@ -1,18 +1,24 @@
 package org.paumard.flightmonitoring.db.model;
 
 public class CityEntity {
+    private final int code;
     private final String name;
 
-    public CityEntity(String name) {
+    public CityEntity(int code, String name) {
+        this.code = code;
         this.name = name;
     }
 
+    public int code() {
+        return this.code;
+    }
+
     public String name() {
         return this.name;
     }
 
     @Override
     public String toString() {
-        return "City[name=" + name + "]";
+        return "City[code=" + code + ", name=" + name + "]";
     }
 }
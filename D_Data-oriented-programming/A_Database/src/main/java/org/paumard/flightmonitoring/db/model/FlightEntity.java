@@ -0,0 +1,15 @@
+package org.paumard.flightmonitoring.db.model;
+
+import org.paumard.flightmonitoring.db.history.PriceSeries;
+
+public sealed interface FlightEntity
+        permits SimpleFlightEntity, MultilegFlightEntity {
+
+    FlightPK id();
+
+    PriceEntity price();
+
+    PriceSeries priceHistory();
+
+    void updatePrice(int price, long timestamp);
+}
@@ -1,17 +1,26 @@
 package org.paumard.flightmonitoring.db.model;
 
-public class MultilegFlightEntity {
+import org.paumard.flightmonitoring.db.history.PriceSeries;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public final class MultilegFlightEntity implements FlightEntity {
     private MultilegFlightPK id;
     private CityEntity from;
-    private CityEntity via;
+    private CityEntity[] via;
     private CityEntity to;
     private PriceEntity price;
     private PlaneEntity plane;
+    private final PriceSeries priceHistory = new PriceSeries();
 
-    public MultilegFlightEntity(MultilegFlightPK id, CityEntity from, CityEntity via, CityEntity to, PriceEntity price, PlaneEntity plane) {
+    public MultilegFlightEntity(MultilegFlightPK id, CityEntity from, CityEntity[] via, CityEntity to, PriceEntity price, PlaneEntity plane) {
+        if (via.length == 0) {
+            throw new IllegalArgumentException("A multileg flight needs at least one stopover: " + id);
+        }
         this.id = id;
         this.from = from;
-        this.via = via;
+        this.via = via.clone();
         this.to = to;
         this.price = price;
         this.plane = plane;
@@ -25,8 +34,13 @@ public class MultilegFlightEntity {
         return this.from;
     }
 
-    public CityEntity via() {
-        return this.via;
+    public int viaCount() {
+        return this.via.length;
+    }
+
+    public CityEntity via(int index) {
+        Objects.checkIndex(index, via.length);
+        return this.via[index];
     }
 
     public CityEntity to() {
@@ -37,13 +51,20 @@ public class MultilegFlightEntity {
         return this.price;
     }
 
-    public void updatePrice(PriceEntity price) {
-        this.price = price;
+    public PriceSeries priceHistory() {
+        return this.priceHistory;
+    }
+
+    public void updatePrice(int price, long timestamp) {
+        if (this.price.price() != price) {
+            this.price = new PriceEntity(price);
+        }
+        this.priceHistory.append(timestamp, price);
     }
 
     @Override
     public String toString() {
-        return "Flight[id=" + id + ", from=" + from + ", via=" + via + ", to=" + to +
+        return "Flight[id=" + id + ", from=" + from + ", via=" + Arrays.toString(via) + ", to=" + to +
                ", price=" + price + ", plane = " + plane + "]";
     }
 }
@@ -1,11 +1,14 @@
 package org.paumard.flightmonitoring.db.model;
 
-public class SimpleFlightEntity {
+import org.paumard.flightmonitoring.db.history.PriceSeries;
+
+public final class SimpleFlightEntity implements FlightEntity {
     private SimpleFlightPK id;
     private CityEntity from;
     private CityEntity to;
     private PriceEntity price;
     private PlaneEntity plane;
+    private final PriceSeries priceHistory = new PriceSeries();
 
     public SimpleFlightEntity(SimpleFlightPK id, CityEntity from, CityEntity to, PriceEntity price, PlaneEntity plane) {
         this.id = id;
@@ -31,8 +34,15 @@ public class SimpleFlightEntity {
         return this.price;
     }
 
-    public void updatePrice(PriceEntity price) {
-        this.price = price;
+    public PriceSeries priceHistory() {
+        return this.priceHistory;
+    }
+
+    public void updatePrice(int price, long timestamp) {
+        if (this.price.price() != price) {
+            this.price = new PriceEntity(price);
+        }
+        this.priceHistory.append(timestamp, price);
     }
 
     @Override
@@ -1,7 +1,7 @@
 package org.paumard.flightmonitoring.db.model;
 
 public final class SimpleFlightPK implements FlightPK {
-    private String flightId;
+    private final String flightId;
 
     public SimpleFlightPK(String id) {
         this.flightId = id;
@@ -11,6 +11,16 @@ public final class SimpleFlightPK implements FlightPK {
         return this.flightId;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SimpleFlightPK other && flightId.equals(other.flightId);
+    }
+
+    @Override
+    public int hashCode() {
+        return flightId.hashCode();
+    }
+
     @Override
     public String toString() {
         return "FlightID[flightId=" + flightId + "]";
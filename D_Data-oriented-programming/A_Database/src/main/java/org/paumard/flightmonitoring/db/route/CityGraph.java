@@ -0,0 +1,154 @@
+package org.paumard.flightmonitoring.db.route;
+
+import org.paumard.flightmonitoring.business.model.City;
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+import org.paumard.flightmonitoring.db.CityDictionary;
+import org.paumard.flightmonitoring.db.model.CityEntity;
+import org.paumard.flightmonitoring.db.model.SimpleFlightEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class CityGraph {
+
+    private final City[] cities;
+    private final Map<City, Integer> nodes;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] flightHandles;
+    private final SimpleFlightID[] flightIDs;
+
+    private final int[] reverseOffsets;
+    private final int[] reverseSources;
+    private final int[] reverseEdges;
+
+    private CityGraph(City[] cities, Map<City, Integer> nodes, int[] sources, int[] targets,
+                      int[] flightHandles, SimpleFlightID[] flightIDs) {
+        var cityCount = cities.length;
+        var flightCount = targets.length;
+        this.cities = cities;
+        this.nodes = nodes;
+
+        this.offsets = new int[cityCount + 1];
+        this.targets = new int[flightCount];
+        this.flightHandles = new int[flightCount];
+        this.flightIDs = new SimpleFlightID[flightCount];
+        this.reverseOffsets = new int[cityCount + 1];
+        this.reverseSources = new int[flightCount];
+        this.reverseEdges = new int[flightCount];
+
+        for (int index = 0; index < flightCount; index++) {
+            offsets[sources[index] + 1]++;
+            reverseOffsets[targets[index] + 1]++;
+        }
+        for (int node = 0; node < cityCount; node++) {
+            offsets[node + 1] += offsets[node];
+            reverseOffsets[node + 1] += reverseOffsets[node];
+        }
+        var next = new int[cityCount];
+        for (int index = 0; index < flightCount; index++) {
+            var edge = offsets[sources[index]] + next[sources[index]]++;
+            this.targets[edge] = targets[index];
+            this.flightHandles[edge] = flightHandles[index];
+            this.flightIDs[edge] = flightIDs[index];
+        }
+        var reverseNext = new int[cityCount];
+        for (int node = 0; node < cityCount; node++) {
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                var target = this.targets[edge];
+                var reverseEdge = reverseOffsets[target] + reverseNext[target]++;
+                reverseSources[reverseEdge] = node;
+                reverseEdges[reverseEdge] = edge;
+            }
+        }
+    }
+
+    public static CityGraph of(Collection<SimpleFlightEntity> simpleFlights) {
+        var nodes = new HashMap<City, Integer>();
+        var cities = new ArrayList<City>();
+        var flightCount = simpleFlights.size();
+        var sources = new int[flightCount];
+        var targets = new int[flightCount];
+        var flightHandles = new int[flightCount];
+        var flightIDs = new SimpleFlightID[flightCount];
+
+        var index = 0;
+        for (var simpleFlight : simpleFlights) {
+            var flightID = new SimpleFlightID(simpleFlight.id().flightId());
+            sources[index] = node(nodes, cities, simpleFlight.from());
+            targets[index] = node(nodes, cities, simpleFlight.to());
+            flightHandles[index] = FlightHandles.instance().handleOf(flightID);
+            flightIDs[index] = flightID;
+            index++;
+        }
+        return new CityGraph(cities.toArray(City[]::new), Map.copyOf(nodes), sources, targets, flightHandles, flightIDs);
+    }
+
+    public int cityCount() {
+        return cities.length;
+    }
+
+    public int flightCount() {
+        return targets.length;
+    }
+
+    int node(City city) {
+        var node = nodes.get(city);
+        return node == null ? -1 : node;
+    }
+
+    City city(int node) {
+        return cities[node];
+    }
+
+    int firstEdge(int node) {
+        return offsets[node];
+    }
+
+    int lastEdge(int node) {
+        return offsets[node + 1];
+    }
+
+    int target(int edge) {
+        return targets[edge];
+    }
+
+    int flightHandle(int edge) {
+        return flightHandles[edge];
+    }
+
+    SimpleFlightID flightID(int edge) {
+        return flightIDs[edge];
+    }
+
+    int firstReverseEdge(int node) {
+        return reverseOffsets[node];
+    }
+
+    int lastReverseEdge(int node) {
+        return reverseOffsets[node + 1];
+    }
+
+    int reverseSource(int reverseEdge) {
+        return reverseSources[reverseEdge];
+    }
+
+    int reverseEdge(int reverseEdge) {
+        return reverseEdges[reverseEdge];
+    }
+
+    private static int node(Map<City, Integer> nodes, ArrayList<City> cities, CityEntity cityEntity) {
+        var city = CityDictionary.city(cityEntity);
+        var node = nodes.get(city);
+        if (node == null) {
+            node = cities.size();
+            nodes.put(city, node);
+            cities.add(city);
+        }
+        return node;
+    }
+}
@@ -0,0 +1,14 @@
+package org.paumard.flightmonitoring.db.route;
+
+import org.paumard.flightmonitoring.business.model.Flight;
+import org.paumard.flightmonitoring.business.model.Price;
+import org.paumard.flightmonitoring.business.model.SimpleFlight;
+
+import java.util.List;
+
+public record Itinerary(Flight flight, Price price, List<SimpleFlight> legs) {
+
+    public Itinerary {
+        legs = List.copyOf(legs);
+    }
+}
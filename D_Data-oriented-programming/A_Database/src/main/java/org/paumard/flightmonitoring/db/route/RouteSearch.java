@@ -0,0 +1,276 @@
+package org.paumard.flightmonitoring.db.route;
+
+import org.paumard.flightmonitoring.business.metrics.LatencyHistogram;
+import org.paumard.flightmonitoring.business.metrics.Metrics;
+import org.paumard.flightmonitoring.business.model.City;
+import org.paumard.flightmonitoring.business.model.Flight;
+import org.paumard.flightmonitoring.business.model.MultilegFlight;
+import org.paumard.flightmonitoring.business.model.MultilegFlightID;
+import org.paumard.flightmonitoring.business.model.Price;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+import org.paumard.flightmonitoring.business.model.SimpleFlight;
+import org.paumard.flightmonitoring.business.model.Stops;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class RouteSearch {
+
+    public static final int MAX_LEGS = Stops.MAX_STOPS - 1;
+
+    private static final LatencyHistogram SEARCH_LATENCY = Metrics.instance().histogram("db.route.search.latency");
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int UNKNOWN = -1;
+    private static final int BACKWARD_LEVELS = 2;
+
+    private volatile CityGraph graph;
+
+    public RouteSearch(CityGraph graph) {
+        this.graph = graph;
+    }
+
+    public CityGraph graph() {
+        return graph;
+    }
+
+    public void update(CityGraph graph) {
+        this.graph = graph;
+    }
+
+    public List<Itinerary> cheapest(City from, City to, int count, int maxLegs) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("The number of itineraries should be positive: " + count);
+        }
+        if (maxLegs <= 0 || maxLegs > MAX_LEGS) {
+            throw new IllegalArgumentException("The number of legs should be between 1 and " + MAX_LEGS + ": " + maxLegs);
+        }
+        var start = System.nanoTime();
+        var graph = this.graph;
+        var source = graph.node(from);
+        var target = graph.node(to);
+        if (source < 0 || target < 0 || source == target) {
+            return List.of();
+        }
+        var itineraries = new Search(graph, maxLegs).run(source, target, count);
+        SEARCH_LATENCY.recordSince(start);
+        return itineraries;
+    }
+
+    private static final class Search {
+
+        private final CityGraph graph;
+        private final PriceStore priceStore = PriceStore.instance();
+        private final int maxLegs;
+        private final int[][] lowerBounds;
+
+        private int[] pathNodes = new int[64];
+        private int[] pathParents = new int[64];
+        private int[] pathEdges = new int[64];
+        private int[] pathLegs = new int[64];
+        private int[] pathCosts = new int[64];
+        private int pathCount;
+
+        private long[] queue = new long[64];
+        private int queueSize;
+
+        private Search(CityGraph graph, int maxLegs) {
+            this.graph = graph;
+            this.maxLegs = maxLegs;
+            this.lowerBounds = new int[maxLegs + 1][];
+        }
+
+        private List<Itinerary> run(int source, int target, int count) {
+            computeLowerBounds(target);
+            var sourceBound = lowerBound(maxLegs, source);
+            if (sourceBound == UNREACHABLE) {
+                return List.of();
+            }
+
+            var itineraries = new ArrayList<Itinerary>(count);
+            push(sourceBound, addPath(source, -1, -1, 0, 0));
+            while (queueSize > 0 && itineraries.size() < count) {
+                var path = (int) poll();
+                var node = pathNodes[path];
+                if (node == target) {
+                    itineraries.add(itinerary(path));
+                    continue;
+                }
+                var legs = pathLegs[path] + 1;
+                for (int edge = graph.firstEdge(node); edge < graph.lastEdge(node); edge++) {
+                    var next = graph.target(edge);
+                    var bound = lowerBound(maxLegs - legs, next);
+                    if (bound == UNREACHABLE || isOnPath(path, next)) {
+                        continue;
+                    }
+                    var price = priceStore.price(graph.flightHandle(edge));
+                    if (price == PriceStore.NO_PRICE) {
+                        continue;
+                    }
+                    var cost = pathCosts[path] + price;
+                    push(cost + bound, addPath(next, path, edge, legs, cost));
+                }
+            }
+            return itineraries;
+        }
+
+        private void computeLowerBounds(int target) {
+            var bounds = new int[graph.cityCount()];
+            Arrays.fill(bounds, UNREACHABLE);
+            bounds[target] = 0;
+            lowerBounds[0] = bounds;
+
+            var frontier = new int[]{target};
+            var frontierSize = 1;
+            var visited = new int[graph.cityCount()];
+            var backwardLevels = Math.min(maxLegs, BACKWARD_LEVELS);
+            for (int legs = 1; legs <= backwardLevels; legs++) {
+                var previous = bounds;
+                bounds = previous.clone();
+                var next = new int[16];
+                var nextSize = 0;
+                for (int index = 0; index < frontierSize; index++) {
+                    var node = frontier[index];
+                    for (int reverseEdge = graph.firstReverseEdge(node); reverseEdge < graph.lastReverseEdge(node); reverseEdge++) {
+                        var price = priceStore.price(graph.flightHandle(graph.reverseEdge(reverseEdge)));
+                        if (price == PriceStore.NO_PRICE) {
+                            continue;
+                        }
+                        var source = graph.reverseSource(reverseEdge);
+                        var cost = previous[node] + price;
+                        if (cost < bounds[source]) {
+                            bounds[source] = cost;
+                            if (visited[source] != legs) {
+                                visited[source] = legs;
+                                if (nextSize == next.length) {
+                                    next = Arrays.copyOf(next, nextSize * 2);
+                                }
+                                next[nextSize++] = source;
+                            }
+                        }
+                    }
+                }
+                lowerBounds[legs] = bounds;
+                frontier = next;
+                frontierSize = nextSize;
+            }
+            for (int legs = backwardLevels + 1; legs <= maxLegs; legs++) {
+                lowerBounds[legs] = new int[graph.cityCount()];
+                Arrays.fill(lowerBounds[legs], UNKNOWN);
+            }
+        }
+
+        private int lowerBound(int legs, int node) {
+            var bound = lowerBounds[legs][node];
+            if (bound != UNKNOWN) {
+                return bound;
+            }
+            bound = lowerBound(legs - 1, node);
+            for (int edge = graph.firstEdge(node); edge < graph.lastEdge(node); edge++) {
+                var nextBound = lowerBound(legs - 1, graph.target(edge));
+                if (nextBound == UNREACHABLE) {
+                    continue;
+                }
+                var price = priceStore.price(graph.flightHandle(edge));
+                if (price != PriceStore.NO_PRICE) {
+                    bound = Math.min(bound, price + nextBound);
+                }
+            }
+            lowerBounds[legs][node] = bound;
+            return bound;
+        }
+
+        private boolean isOnPath(int path, int node) {
+            for (; path >= 0; path = pathParents[path]) {
+                if (pathNodes[path] == node) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Itinerary itinerary(int path) {
+            var price = new Price(pathCosts[path]);
+            var legs = new SimpleFlight[pathLegs[path]];
+            for (int leg = legs.length - 1; leg >= 0; leg--) {
+                var edge = pathEdges[path];
+                var parent = pathParents[path];
+                legs[leg] = new SimpleFlight(graph.flightID(edge),
+                        graph.city(pathNodes[parent]), graph.city(pathNodes[path]));
+                path = parent;
+            }
+            return new Itinerary(flight(legs), price, List.of(legs));
+        }
+
+        private static Flight flight(SimpleFlight[] legs) {
+            if (legs.length == 1) {
+                return legs[0];
+            }
+            var id = new StringBuilder(legs[0].id().id());
+            var cities = new City[legs.length + 1];
+            cities[0] = legs[0].from();
+            for (int leg = 1; leg < legs.length; leg++) {
+                id.append(legs[leg].id().id(), 2, legs[leg].id().id().length());
+                cities[leg] = legs[leg].from();
+            }
+            cities[legs.length] = legs[legs.length - 1].to();
+            return new MultilegFlight(new MultilegFlightID(id.toString()), cities);
+        }
+
+        private int addPath(int node, int parent, int edge, int legs, int cost) {
+            if (pathCount == pathNodes.length) {
+                var capacity = pathCount * 2;
+                pathNodes = Arrays.copyOf(pathNodes, capacity);
+                pathParents = Arrays.copyOf(pathParents, capacity);
+                pathEdges = Arrays.copyOf(pathEdges, capacity);
+                pathLegs = Arrays.copyOf(pathLegs, capacity);
+                pathCosts = Arrays.copyOf(pathCosts, capacity);
+            }
+            pathNodes[pathCount] = node;
+            pathParents[pathCount] = parent;
+            pathEdges[pathCount] = edge;
+            pathLegs[pathCount] = legs;
+            pathCosts[pathCount] = cost;
+            return pathCount++;
+        }
+
+        private void push(int estimate, int path) {
+            if (queueSize == queue.length) {
+                queue = Arrays.copyOf(queue, queueSize * 2);
+            }
+            var entry = (long) estimate << 32 | path;
+            var index = queueSize++;
+            while (index > 0) {
+                var parent = (index - 1) >>> 1;
+                if (queue[parent] <= entry) {
+                    break;
+                }
+                queue[index] = queue[parent];
+                index = parent;
+            }
+            queue[index] = entry;
+        }
+
+        private long poll() {
+            var head = queue[0];
+            var last = queue[--queueSize];
+            var index = 0;
+            while (true) {
+                var child = 2 * index + 1;
+                if (child >= queueSize) {
+                    break;
+                }
+                if (child + 1 < queueSize && queue[child + 1] < queue[child]) {
+                    child++;
+                }
+                if (last <= queue[child]) {
+                    break;
+                }
+                queue[index] = queue[child];
+                index = child;
+            }
+            queue[index] = last;
+            return head & 0xFFFF_FFFFL;
+        }
+    }
+}
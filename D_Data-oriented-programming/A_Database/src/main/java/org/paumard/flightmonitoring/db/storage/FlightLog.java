@@ -0,0 +1,231 @@
+package org.paumard.flightmonitoring.db.storage;
+
+import org.paumard.flightmonitoring.db.model.FlightPK;
+import org.paumard.flightmonitoring.db.model.MultilegFlightPK;
+import org.paumard.flightmonitoring.db.model.SimpleFlightPK;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+public final class FlightLog implements AutoCloseable {
+
+    public sealed interface LogRecord {
+    }
+
+    public record FlightCreated(FlightPK flightPK) implements LogRecord {}
+
+    public record PriceUpdated(FlightPK flightPK, int price, long timestamp) implements LogRecord {}
+
+    private static final int MAGIC = 0x464C4F47;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final byte SIMPLE_FLIGHT_CREATED = 1;
+    private static final byte MULTILEG_FLIGHT_CREATED = 2;
+    private static final byte SIMPLE_PRICE_UPDATED = 3;
+    private static final byte MULTILEG_PRICE_UPDATED = 4;
+
+    private static final int MAX_ID_LENGTH = 255;
+    private static final int PRICE_SIZE = Integer.BYTES + Long.BYTES;
+    private static final int MIN_PAYLOAD_SIZE = 2;
+    private static final int MAX_PAYLOAD_SIZE = 1 + MAX_ID_LENGTH + PRICE_SIZE;
+    private static final int MAX_RECORD_SIZE = Integer.BYTES + MAX_PAYLOAD_SIZE + Integer.BYTES;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+    private final CRC32C checksum = new CRC32C();
+
+    private FlightLog(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static FlightLog open(Path path, Consumer<LogRecord> replay) throws IOException {
+        var channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            var end = channel.size() == 0 ? writeHeader(channel) : replay(channel, replay);
+            channel.truncate(end);
+            channel.position(end);
+            return new FlightLog(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public synchronized void appendFlight(FlightPK flightPK) {
+        var start = beginRecord();
+        switch (flightPK) {
+            case SimpleFlightPK simpleFlightPK -> putId(SIMPLE_FLIGHT_CREATED, simpleFlightPK.flightId());
+            case MultilegFlightPK multilegFlightPK -> putId(MULTILEG_FLIGHT_CREATED, multilegFlightPK.flightId());
+        }
+        endRecord(start);
+        flush();
+    }
+
+    public synchronized void appendPrice(FlightPK flightPK, int price, long timestamp) {
+        var start = beginRecord();
+        switch (flightPK) {
+            case SimpleFlightPK simpleFlightPK -> putId(SIMPLE_PRICE_UPDATED, simpleFlightPK.flightId());
+            case MultilegFlightPK multilegFlightPK -> putId(MULTILEG_PRICE_UPDATED, multilegFlightPK.flightId());
+        }
+        buffer.putInt(price).putLong(timestamp);
+        endRecord(start);
+    }
+
+    public synchronized void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    public synchronized void force() {
+        flush();
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void close() throws IOException {
+        try {
+            force();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private int beginRecord() {
+        if (buffer.remaining() < MAX_RECORD_SIZE) {
+            flush();
+        }
+        var start = buffer.position();
+        buffer.position(start + Integer.BYTES);
+        return start;
+    }
+
+    private void endRecord(int start) {
+        var payloadStart = start + Integer.BYTES;
+        var payloadSize = buffer.position() - payloadStart;
+        checksum.reset();
+        checksum.update(buffer.slice(payloadStart, payloadSize));
+        buffer.putInt(start, payloadSize).putInt((int) checksum.getValue());
+    }
+
+    private void putId(byte type, String flightId) {
+        var bytes = flightId.getBytes(StandardCharsets.US_ASCII);
+        if (bytes.length == 0 || bytes.length > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("Invalid flight ID length: " + flightId);
+        }
+        buffer.put(type).put(bytes);
+    }
+
+    private static long writeHeader(FileChannel channel) throws IOException {
+        var header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        return HEADER_SIZE;
+    }
+
+    private static long replay(FileChannel channel, Consumer<LogRecord> replay) throws IOException {
+        try (var arena = Arena.ofConfined()) {
+            var log = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            if (log.byteSize() < HEADER_SIZE || log.get(INT, 0) != MAGIC) {
+                throw new IOException("Not a flight log");
+            }
+            var version = log.get(INT, Integer.BYTES);
+            if (version != VERSION) {
+                throw new IOException("Unsupported flight log version: " + version);
+            }
+            var checksum = new CRC32C();
+            var offset = (long) HEADER_SIZE;
+            while (true) {
+                var next = readRecord(log, offset, checksum, replay);
+                if (next < 0) {
+                    return offset;
+                }
+                offset = next;
+            }
+        }
+    }
+
+    private static long readRecord(MemorySegment log, long offset, CRC32C checksum, Consumer<LogRecord> replay)
+            throws IOException {
+        var size = log.byteSize();
+        if (offset + Integer.BYTES > size) {
+            return -1;
+        }
+        var payloadSize = log.get(INT, offset);
+        if (payloadSize < MIN_PAYLOAD_SIZE || payloadSize > MAX_PAYLOAD_SIZE) {
+            if (isZeroFilled(log, offset)) {
+                return -1;
+            }
+            throw new IOException("Corrupted flight log: invalid record size " + payloadSize + " at offset " + offset);
+        }
+        var payloadOffset = offset + Integer.BYTES;
+        var end = payloadOffset + payloadSize + Integer.BYTES;
+        if (end > size) {
+            return -1;
+        }
+        var payload = log.asSlice(payloadOffset, payloadSize);
+        checksum.reset();
+        checksum.update(payload.asByteBuffer());
+        if ((int) checksum.getValue() != log.get(INT, payloadOffset + payloadSize)) {
+            if (end == size) {
+                return -1;
+            }
+            throw new IOException("Corrupted flight log: checksum mismatch at offset " + offset);
+        }
+
+        var type = payload.get(ValueLayout.JAVA_BYTE, 0);
+        var withPrice = type == SIMPLE_PRICE_UPDATED || type == MULTILEG_PRICE_UPDATED;
+        var idLength = payloadSize - 1 - (withPrice ? PRICE_SIZE : 0);
+        if (type < SIMPLE_FLIGHT_CREATED || type > MULTILEG_PRICE_UPDATED || idLength <= 0) {
+            throw new IOException("Corrupted flight log: invalid record type " + type + " at offset " + offset);
+        }
+
+        var flightId = new String(payload.asSlice(1, idLength).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.US_ASCII);
+        FlightPK flightPK = type == SIMPLE_FLIGHT_CREATED || type == SIMPLE_PRICE_UPDATED ?
+                new SimpleFlightPK(flightId) : new MultilegFlightPK(flightId);
+        if (withPrice) {
+            var price = payload.get(INT, 1 + idLength);
+            var timestamp = payload.get(LONG, 1 + idLength + Integer.BYTES);
+            replay.accept(new PriceUpdated(flightPK, price, timestamp));
+        } else {
+            replay.accept(new FlightCreated(flightPK));
+        }
+        return end;
+    }
+
+    private static boolean isZeroFilled(MemorySegment log, long offset) {
+        for (var index = offset; index < log.byteSize(); index++) {
+            if (log.get(ValueLayout.JAVA_BYTE, index) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,108 @@
+package org.paumard.flightmonitoring.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.paumard.flightmonitoring.business.model.City;
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.model.MultilegFlight;
+import org.paumard.flightmonitoring.business.model.MultilegFlightID;
+import org.paumard.flightmonitoring.business.model.Price;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+import org.paumard.flightmonitoring.business.model.SimpleFlight;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+import org.paumard.flightmonitoring.business.ranking.RankedFlight;
+import org.paumard.flightmonitoring.business.service.PriceBatch;
+import org.paumard.flightmonitoring.db.history.PriceStats;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FlightDBServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void should_recover_the_prices_written_before_closing() throws IOException {
+        var path = directory.resolve("flights.log");
+        var simpleFlightID = new SimpleFlightID("PaAt");
+        var multilegFlightID = new MultilegFlightID("LoPaMi");
+        var flightHandles = FlightHandles.instance();
+        var from = Instant.now().minusSeconds(60);
+
+        try (var dbService = new FlightDBService(path)) {
+            dbService.fetchFlight(simpleFlightID);
+            for (var price : new int[]{90, 110, 100}) {
+                var batch = new PriceBatch();
+                batch.add(flightHandles.handleOf(simpleFlightID), price);
+                batch.add(flightHandles.handleOf(multilegFlightID), 2 * price);
+                dbService.updatePrices(batch);
+            }
+        }
+
+        var to = Instant.now().plusSeconds(60);
+        try (var dbService = new FlightDBService(path)) {
+            assertThat(dbService.priceStats(simpleFlightID, from, to))
+                    .isEqualTo(new PriceStats(3L, 90, 110, 100.0));
+            assertThat(dbService.priceStats(multilegFlightID, from, to))
+                    .isEqualTo(new PriceStats(3L, 180, 220, 200.0));
+        }
+    }
+
+    @Test
+    public void should_keep_the_price_history_without_a_log() throws IOException {
+        var flightID = new SimpleFlightID("AmNY");
+        var entityStore = new FlightEntityStore();
+        var from = Instant.now().minusSeconds(60);
+
+        try (var dbService = new FlightDBService(entityStore)) {
+            var batch = new PriceBatch();
+            batch.add(FlightHandles.instance().handleOf(flightID), 95);
+            dbService.updatePrices(batch);
+        }
+
+        assertThat(entityStore.simpleFlightCount()).isEqualTo(1);
+        assertThat(new FlightDBService(entityStore).priceStats(flightID, from, Instant.now().plusSeconds(60)))
+                .isEqualTo(new PriceStats(1L, 95, 95, 95.0));
+    }
+
+    @Test
+    public void should_route_over_every_city_of_the_city_table() throws IOException {
+        var entityStore = new FlightEntityStore();
+        try (var dbService = new FlightDBService(entityStore)) {
+            dbService.fetchFlight(new SimpleFlightID("PaAt"));
+
+            var cityGraph = dbService.cityGraph();
+
+            assertThat(cityGraph.cityCount()).isEqualTo(8);
+            assertThat(cityGraph.flightCount()).isEqualTo(8 * 7);
+            assertThat(entityStore.simpleFlightCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void should_search_the_cheapest_routes_over_the_known_prices() throws IOException {
+        var priceStore = PriceStore.instance();
+        var direct = new SimpleFlightID("FrWa");
+        priceStore.updatePrice(direct, new Price(500));
+        priceStore.updatePrice(new SimpleFlightID("FrMi"), new Price(10));
+        priceStore.updatePrice(new SimpleFlightID("MiWa"), new Price(10));
+        var frankfurt = new City("Francfort");
+        var washington = new City("Washington");
+
+        try (var dbService = new FlightDBService()) {
+            var routes = dbService.cheapestRoutes(frankfurt, washington, 1, 2);
+            var directRoutes = dbService.cheapestRoutes(frankfurt, washington, 1, 1);
+
+            assertThat(routes).containsExactly(new RankedFlight(
+                    new MultilegFlight(new MultilegFlightID("FrMiWa"), frankfurt, new City("Miami"), washington),
+                    new Price(20)));
+            assertThat(directRoutes).containsExactly(new RankedFlight(
+                    new SimpleFlight(direct, frankfurt, washington), new Price(500)));
+            assertThat(dbService.cityGraph()).isSameAs(dbService.cityGraph());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.paumard.flightmonitoring.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.paumard.flightmonitoring.db.history.PriceStats;
+import org.paumard.flightmonitoring.db.model.MultilegFlightPK;
+import org.paumard.flightmonitoring.db.model.SimpleFlightPK;
+import org.paumard.flightmonitoring.db.storage.FlightLog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FlightEntityStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void should_compute_price_stats_over_a_window() {
+        var entityStore = new FlightEntityStore();
+        var flightPK = new MultilegFlightPK("LoPaMi");
+        entityStore.updatePrice(flightPK, 120, 1_000L);
+        entityStore.updatePrice(flightPK, 100, 2_000L);
+        entityStore.updatePrice(flightPK, 90, 3_000L);
+        entityStore.updatePrice(flightPK, 130, 4_000L);
+
+        assertThat(entityStore.priceStats(flightPK, 2_000L, 4_000L)).isEqualTo(new PriceStats(2L, 90, 100, 95.0));
+        assertThat(entityStore.priceStats(flightPK, 0L, 5_000L)).isEqualTo(new PriceStats(4L, 90, 130, 110.0));
+        assertThat(entityStore.priceStats(flightPK, 5_000L, 6_000L)).isEqualTo(PriceStats.EMPTY);
+    }
+
+    @Test
+    public void should_return_empty_stats_without_creating_an_unknown_flight() throws IOException {
+        var path = directory.resolve("flights.log");
+        try (var entityStore = new FlightEntityStore(path)) {
+            assertThat(entityStore.priceStats(new SimpleFlightPK("PaAt"), 0L, Long.MAX_VALUE))
+                    .isEqualTo(PriceStats.EMPTY);
+            assertThat(entityStore.priceStats(new MultilegFlightPK("LoPaMi"), 0L, Long.MAX_VALUE))
+                    .isEqualTo(PriceStats.EMPTY);
+            assertThat(entityStore.simpleFlightCount()).isZero();
+            assertThat(entityStore.multilegFlightCount()).isZero();
+        }
+
+        try (var entityStore = new FlightEntityStore(path)) {
+            assertThat(entityStore.simpleFlightCount()).isZero();
+            assertThat(entityStore.multilegFlightCount()).isZero();
+        }
+    }
+
+    @Test
+    public void should_reject_a_multileg_flight_with_too_many_stops() throws IOException {
+        var path = directory.resolve("flights.log");
+        try (var log = FlightLog.open(path, _ -> {})) {
+            log.appendFlight(new MultilegFlightPK("PaLoAmFrNYWaAt"));
+        }
+
+        try (var entityStore = new FlightEntityStore(path)) {
+            assertThat(entityStore.multilegFlightCount()).isZero();
+            assertThatThrownBy(() -> entityStore.multilegFlight(new MultilegFlightPK("PaLoAmFrNYWaAt")))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(entityStore.multilegFlight(new MultilegFlightPK("PaLoAmFrNYWa")).viaCount()).isEqualTo(4);
+        }
+
+        try (var entityStore = new FlightEntityStore(path)) {
+            assertThat(entityStore.multilegFlightCount()).isOne();
+        }
+    }
+}
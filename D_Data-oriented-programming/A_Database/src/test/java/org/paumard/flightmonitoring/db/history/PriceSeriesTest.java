@@ -0,0 +1,155 @@
+package org.paumard.flightmonitoring.db.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PriceSeriesTest {
+
+    @Test
+    public void should_return_empty_stats_for_an_empty_series() {
+        var priceSeries = new PriceSeries();
+
+        assertThat(priceSeries.stats(0L, Long.MAX_VALUE)).isEqualTo(PriceStats.EMPTY);
+        assertThat(priceSeries.count()).isZero();
+    }
+
+    @Test
+    public void should_decode_the_delta_of_delta_and_zigzag_encoded_ticks() {
+        var timestamps = new long[]{
+                1_000L, 1_500L, 2_000L, 2_500L, 2_501L, 9_000_000L, 9_000_000L, 9_000_001L, 1L << 40, (1L << 40) + 500L};
+        var prices = new int[]{
+                100, 101, 99, 99, -5, Integer.MAX_VALUE, Integer.MIN_VALUE, 0, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        var priceSeries = new PriceSeries();
+        for (int index = 0; index < timestamps.length; index++) {
+            priceSeries.append(timestamps[index], prices[index]);
+        }
+
+        assertThat(priceSeries.count()).isEqualTo(timestamps.length);
+        for (int index = 0; index < timestamps.length; index++) {
+            var timestamp = timestamps[index];
+            assertThat(priceSeries.stats(timestamp, timestamp + 1))
+                    .as("tick at %d", timestamp)
+                    .isEqualTo(expectedStats(timestamps, prices, timestamp, timestamp + 1));
+        }
+        assertThat(priceSeries.stats(0L, Long.MAX_VALUE))
+                .isEqualTo(expectedStats(timestamps, prices, 0L, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void should_match_a_brute_force_scan_across_chunks() {
+        var random = new SplittableRandom(314L);
+        var count = 100_000;
+        var timestamps = new long[count];
+        var prices = new int[count];
+        var priceSeries = new PriceSeries();
+        var timestamp = 1_700_000_000_000L;
+        var price = 100;
+        for (int index = 0; index < count; index++) {
+            timestamp += random.nextInt(10) == 0 ? random.nextLong(0, 60_000) : 500;
+            price = Math.max(1, price + random.nextInt(-3, 4));
+            timestamps[index] = timestamp;
+            prices[index] = price;
+            priceSeries.append(timestamp, price);
+        }
+
+        assertThat(priceSeries.byteSize()).isLessThan(4L * count);
+        for (int query = 0; query < 200; query++) {
+            var from = random.nextLong(timestamps[0] - 1_000, timestamp + 1_000);
+            var to = random.nextLong(from, timestamp + 2_000);
+            assertThat(priceSeries.stats(from, to))
+                    .as("stats from %d to %d", from, to)
+                    .isEqualTo(expectedStats(timestamps, prices, from, to));
+        }
+    }
+
+    @Test
+    public void should_run_length_encode_the_unchanged_ticks() {
+        var random = new SplittableRandom(2718L);
+        var count = (int) (Duration.ofDays(1).toMillis() / 500L);
+        var timestamps = new long[count];
+        var prices = new int[count];
+        var priceSeries = new PriceSeries();
+        var price = 100;
+        for (int index = 0; index < count; index++) {
+            if (random.nextInt(100) == 0) {
+                price = Math.max(1, price + random.nextInt(-3, 4));
+            }
+            timestamps[index] = 1_700_000_000_000L + index * 500L;
+            prices[index] = price;
+            priceSeries.append(timestamps[index], price);
+        }
+
+        assertThat(priceSeries.count()).isEqualTo(count);
+        assertThat(priceSeries.byteSize()).isLessThan(16L * 1024);
+        for (int query = 0; query < 200; query++) {
+            var from = random.nextLong(timestamps[0] - 1_000, timestamps[count - 1] + 1_000);
+            var to = random.nextLong(from, timestamps[count - 1] + 2_000);
+            assertThat(priceSeries.stats(from, to))
+                    .as("stats from %d to %d", from, to)
+                    .isEqualTo(expectedStats(timestamps, prices, from, to));
+        }
+    }
+
+    @Test
+    public void should_clamp_the_timestamps_that_go_back_in_time() {
+        var priceSeries = new PriceSeries();
+        priceSeries.append(1_000L, 100);
+        priceSeries.append(2_000L, 110);
+        priceSeries.append(1_500L, 120);
+        priceSeries.append(2_500L, 130);
+
+        assertThat(priceSeries.count()).isEqualTo(4L);
+        assertThat(priceSeries.stats(1_000L, 2_000L)).isEqualTo(new PriceStats(1L, 100, 100, 100.0));
+        assertThat(priceSeries.stats(2_000L, 2_001L)).isEqualTo(new PriceStats(2L, 110, 120, 115.0));
+        assertThat(priceSeries.stats(2_001L, 3_000L)).isEqualTo(new PriceStats(1L, 130, 130, 130.0));
+    }
+
+    @Test
+    public void should_drop_the_chunks_older_than_the_retention() {
+        var retention = Duration.ofDays(30);
+        var priceSeries = new PriceSeries(retention);
+        var step = Duration.ofSeconds(10).toMillis();
+        var count = (int) (Duration.ofDays(40).toMillis() / step);
+        var timestamps = new long[count];
+        var prices = new int[count];
+        for (int index = 0; index < count; index++) {
+            timestamps[index] = index * step;
+            prices[index] = 100 + index % 7;
+            priceSeries.append(timestamps[index], prices[index]);
+        }
+
+        var last = timestamps[count - 1];
+        var windowStart = last - retention.toMillis();
+        assertThat(priceSeries.count()).isLessThan(count);
+        assertThat(priceSeries.stats(0L, windowStart - Duration.ofDays(1).toMillis())).isEqualTo(PriceStats.EMPTY);
+        assertThat(priceSeries.stats(windowStart, last + 1))
+                .isEqualTo(expectedStats(timestamps, prices, windowStart, last + 1));
+    }
+
+    @Test
+    public void should_reject_a_non_positive_retention() {
+        assertThatThrownBy(() -> new PriceSeries(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PriceStats expectedStats(long[] timestamps, int[] prices, long from, long to) {
+        var count = 0L;
+        var min = Integer.MAX_VALUE;
+        var max = Integer.MIN_VALUE;
+        var sum = 0L;
+        for (int index = 0; index < timestamps.length; index++) {
+            if (from <= timestamps[index] && timestamps[index] < to) {
+                count++;
+                min = Math.min(min, prices[index]);
+                max = Math.max(max, prices[index]);
+                sum += prices[index];
+            }
+        }
+        return count == 0 ? PriceStats.EMPTY : new PriceStats(count, min, max, (double) sum / count);
+    }
+}
@@ -0,0 +1,188 @@
+package org.paumard.flightmonitoring.db.route;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.paumard.flightmonitoring.business.model.City;
+import org.paumard.flightmonitoring.business.model.CityCodes;
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.model.MultilegFlight;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+import org.paumard.flightmonitoring.business.model.SimpleFlight;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+import org.paumard.flightmonitoring.db.model.CityEntity;
+import org.paumard.flightmonitoring.db.model.PlaneEntity;
+import org.paumard.flightmonitoring.db.model.PriceEntity;
+import org.paumard.flightmonitoring.db.model.SimpleFlightEntity;
+import org.paumard.flightmonitoring.db.model.SimpleFlightPK;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RouteSearchTest {
+
+    private record Path(List<String> legs, int price) {}
+
+    private static final int CITY_COUNT = 7;
+    private static final Map<String, CityEntity> CITIES = new LinkedHashMap<>();
+    private static final Map<String, Integer> PRICES = new LinkedHashMap<>();
+    private static final List<String> UNPRICED = List.of("Q0Q4", "Q4Q6");
+
+    private static RouteSearch routeSearch;
+
+    @BeforeAll
+    public static void setUp() {
+        for (int index = 0; index < CITY_COUNT; index++) {
+            var code = "Q" + index;
+            var name = "Route " + code;
+            CITIES.put(code, new CityEntity(CityCodes.instance().codeOf(new City(name)), name));
+        }
+        PRICES.putAll(Map.ofEntries(
+                Map.entry("Q0Q1", 10), Map.entry("Q0Q2", 30), Map.entry("Q0Q3", 100),
+                Map.entry("Q1Q2", 10), Map.entry("Q1Q3", 50), Map.entry("Q1Q4", 70),
+                Map.entry("Q2Q0", 1), Map.entry("Q2Q1", 5), Map.entry("Q2Q3", 10),
+                Map.entry("Q3Q1", 2), Map.entry("Q3Q4", 10), Map.entry("Q4Q0", 3),
+                Map.entry("Q5Q0", 20)));
+
+        var simpleFlights = new ArrayList<SimpleFlightEntity>();
+        for (var flightId : PRICES.keySet()) {
+            simpleFlights.add(simpleFlight(flightId));
+            PriceStore.instance().updatePrice(FlightHandles.instance().handleOf(new SimpleFlightID(flightId)), PRICES.get(flightId));
+        }
+        for (var flightId : UNPRICED) {
+            simpleFlights.add(simpleFlight(flightId));
+        }
+        routeSearch = new RouteSearch(CityGraph.of(simpleFlights));
+    }
+
+    @Test
+    public void should_find_the_same_itineraries_as_a_brute_force_search() {
+        for (var from : CITIES.keySet()) {
+            for (var to : CITIES.keySet()) {
+                if (from.equals(to)) {
+                    continue;
+                }
+                for (int maxLegs = 1; maxLegs <= RouteSearch.MAX_LEGS; maxLegs++) {
+                    var expected = bruteForce(from, to, maxLegs);
+                    for (var count : List.of(1, 2, 5, 1_000)) {
+                        var description = from + " -> " + to + ", " + maxLegs + " legs, top " + count;
+                        var itineraries = routeSearch.cheapest(city(from), city(to), count, maxLegs);
+
+                        assertThat(itineraries).as(description).hasSize(Math.min(count, expected.size()));
+                        assertThat(itineraries).as(description)
+                                .extracting(itinerary -> itinerary.price().price())
+                                .containsExactlyElementsOf(expected.stream().limit(count).map(Path::price).toList());
+                        assertThat(itineraries).as(description)
+                                .extracting(RouteSearchTest::legs)
+                                .doesNotHaveDuplicates()
+                                .allSatisfy(legs -> assertThat(expected).extracting(Path::legs).contains(legs));
+                        for (var itinerary : itineraries) {
+                            assertValid(itinerary, from, to, maxLegs);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void should_skip_unpriced_flights_and_unreachable_cities() {
+        assertThat(routeSearch.cheapest(city("Q0"), city("Q4"), 10, 1)).isEmpty();
+        assertThat(routeSearch.cheapest(city("Q0"), city("Q4"), 1, 2))
+                .extracting(RouteSearchTest::legs)
+                .containsExactly(List.of("Q0Q1", "Q1Q4"));
+        assertThat(routeSearch.cheapest(city("Q0"), city("Q6"), 10, RouteSearch.MAX_LEGS)).isEmpty();
+        assertThat(routeSearch.cheapest(city("Q0"), city("Q5"), 10, RouteSearch.MAX_LEGS)).isEmpty();
+        assertThat(routeSearch.cheapest(city("Q6"), city("Q0"), 10, RouteSearch.MAX_LEGS)).isEmpty();
+        assertThat(routeSearch.cheapest(new City("Nowhere"), city("Q0"), 10, RouteSearch.MAX_LEGS)).isEmpty();
+        assertThat(routeSearch.cheapest(city("Q0"), city("Q0"), 10, RouteSearch.MAX_LEGS)).isEmpty();
+    }
+
+    @Test
+    public void should_reject_invalid_searches() {
+        assertThatThrownBy(() -> routeSearch.cheapest(city("Q0"), city("Q3"), 0, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> routeSearch.cheapest(city("Q0"), city("Q3"), 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> routeSearch.cheapest(city("Q0"), city("Q3"), 1, RouteSearch.MAX_LEGS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Path> bruteForce(String from, String to, int maxLegs) {
+        var paths = new ArrayList<Path>();
+        var visited = new HashSet<String>();
+        visited.add(from);
+        explore(from, to, maxLegs, visited, new ArrayList<>(), 0, paths);
+        paths.sort(Comparator.comparingInt(Path::price));
+        return paths;
+    }
+
+    private static void explore(String city, String to, int maxLegs, HashSet<String> visited,
+                                List<String> legs, int price, List<Path> paths) {
+        if (city.equals(to)) {
+            paths.add(new Path(List.copyOf(legs), price));
+            return;
+        }
+        if (legs.size() == maxLegs) {
+            return;
+        }
+        for (var flight : PRICES.entrySet()) {
+            var next = flight.getKey().substring(2);
+            if (flight.getKey().startsWith(city) && !visited.contains(next)) {
+                visited.add(next);
+                legs.add(flight.getKey());
+                explore(next, to, maxLegs, visited, legs, price + flight.getValue(), paths);
+                legs.removeLast();
+                visited.remove(next);
+            }
+        }
+    }
+
+    private static void assertValid(Itinerary itinerary, String from, String to, int maxLegs) {
+        var legs = itinerary.legs();
+        assertThat(legs).hasSizeBetween(1, maxLegs);
+        assertThat(legs.getFirst().from()).isEqualTo(city(from));
+        assertThat(legs.getLast().to()).isEqualTo(city(to));
+        var stops = new HashMap<City, Integer>();
+        stops.put(legs.getFirst().from(), 1);
+        var price = 0;
+        for (int leg = 0; leg < legs.size(); leg++) {
+            if (leg > 0) {
+                assertThat(legs.get(leg).from()).isEqualTo(legs.get(leg - 1).to());
+            }
+            stops.merge(legs.get(leg).to(), 1, Integer::sum);
+            price += PRICES.get(legs.get(leg).id().id());
+        }
+        assertThat(stops.values()).containsOnly(1);
+        assertThat(itinerary.price().price()).isEqualTo(price);
+        switch (itinerary.flight()) {
+            case SimpleFlight simpleFlight -> assertThat(simpleFlight).isEqualTo(legs.getFirst());
+            case MultilegFlight multilegFlight -> {
+                assertThat(multilegFlight.legCount()).isEqualTo(legs.size());
+                assertThat(multilegFlight.from()).isEqualTo(city(from));
+                assertThat(multilegFlight.to()).isEqualTo(city(to));
+            }
+        }
+    }
+
+    private static List<String> legs(Itinerary itinerary) {
+        return itinerary.legs().stream().map(leg -> leg.id().id()).toList();
+    }
+
+    private static City city(String code) {
+        return new City(CITIES.get(code).name());
+    }
+
+    private static SimpleFlightEntity simpleFlight(String flightId) {
+        return new SimpleFlightEntity(new SimpleFlightPK(flightId),
+                CITIES.get(flightId.substring(0, 2)), CITIES.get(flightId.substring(2)),
+                new PriceEntity(0), new PlaneEntity("Airbus A350"));
+    }
+}
@@ -0,0 +1,138 @@
+package org.paumard.flightmonitoring.db.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.paumard.flightmonitoring.db.model.MultilegFlightPK;
+import org.paumard.flightmonitoring.db.model.SimpleFlightPK;
+import org.paumard.flightmonitoring.db.storage.FlightLog.FlightCreated;
+import org.paumard.flightmonitoring.db.storage.FlightLog.LogRecord;
+import org.paumard.flightmonitoring.db.storage.FlightLog.PriceUpdated;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FlightLogTest {
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final List<LogRecord> RECORDS = List.of(
+            new FlightCreated(new SimpleFlightPK("PaAt")),
+            new FlightCreated(new MultilegFlightPK("LoPaMi")),
+            new PriceUpdated(new SimpleFlightPK("PaAt"), 95, 1_000L),
+            new PriceUpdated(new MultilegFlightPK("LoPaMi"), 120, 2_000L),
+            new PriceUpdated(new SimpleFlightPK("PaAt"), 90, 3_000L)
+    );
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void should_replay_the_appended_records_after_reopening() throws IOException {
+        var path = directory.resolve("flights.log");
+        write(path, RECORDS);
+
+        assertThat(replay(path)).containsExactlyElementsOf(RECORDS);
+    }
+
+    @Test
+    public void should_truncate_a_torn_record_at_the_tail() throws IOException {
+        var path = directory.resolve("flights.log");
+        write(path, RECORDS);
+        try (var file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        assertThat(replay(path)).containsExactlyElementsOf(RECORDS.subList(0, RECORDS.size() - 1));
+
+        var lastRecord = new PriceUpdated(new SimpleFlightPK("AmNY"), 110, 4_000L);
+        write(path, List.of(lastRecord));
+        var expected = new ArrayList<>(RECORDS.subList(0, RECORDS.size() - 1));
+        expected.add(lastRecord);
+        assertThat(replay(path)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void should_drop_a_tail_record_with_a_bad_checksum() throws IOException {
+        var path = directory.resolve("flights.log");
+        write(path, RECORDS);
+        flipByte(path, Files.size(path) - 1);
+
+        assertThat(replay(path)).containsExactlyElementsOf(RECORDS.subList(0, RECORDS.size() - 1));
+    }
+
+    @Test
+    public void should_drop_a_zero_filled_tail() throws IOException {
+        var path = directory.resolve("flights.log");
+        write(path, RECORDS);
+        Files.write(path, new byte[64], StandardOpenOption.APPEND);
+
+        assertThat(replay(path)).containsExactlyElementsOf(RECORDS);
+    }
+
+    @Test
+    public void should_fail_on_a_corrupted_record_before_the_tail() throws IOException {
+        var path = directory.resolve("flights.log");
+        write(path, RECORDS);
+        flipByte(path, HEADER_SIZE + Integer.BYTES + 1);
+
+        assertThatThrownBy(() -> replay(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum mismatch at offset " + HEADER_SIZE);
+    }
+
+    @Test
+    public void should_fail_on_a_corrupted_record_size_before_the_tail() throws IOException {
+        var path = directory.resolve("flights.log");
+        write(path, RECORDS);
+        flipByte(path, HEADER_SIZE);
+
+        assertThatThrownBy(() -> replay(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("invalid record size");
+    }
+
+    @Test
+    public void should_reject_a_file_that_is_not_a_flight_log() throws IOException {
+        var path = directory.resolve("flights.log");
+        Files.writeString(path, "not a flight log");
+
+        assertThatThrownBy(() -> replay(path))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Not a flight log");
+    }
+
+    private static void write(Path path, List<LogRecord> records) throws IOException {
+        try (var log = FlightLog.open(path, _ -> {})) {
+            for (var logRecord : records) {
+                switch (logRecord) {
+                    case FlightCreated(var flightPK) -> log.appendFlight(flightPK);
+                    case PriceUpdated(var flightPK, var price, var timestamp) -> log.appendPrice(flightPK, price, timestamp);
+                }
+            }
+        }
+    }
+
+    private static List<LogRecord> replay(Path path) throws IOException {
+        var records = new ArrayList<LogRecord>();
+        try (var _ = FlightLog.open(path, records::add)) {
+            return records;
+        }
+    }
+
+    private static void flipByte(Path path, long position) throws IOException {
+        try (var file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(position);
+            var value = file.read();
+            file.seek(position);
+            file.write(value ^ 0xFF);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.paumard.flightmonitoring.pricemonitoring;
+
+import org.paumard.flightmonitoring.business.service.PriceBatch;
+
+import java.util.Arrays;
+
+final class ConflationQueue {
+
+    private PriceBatch pending = new PriceBatch();
+    private PriceBatch spare;
+    private int[] slots = new int[32];
+
+    synchronized int offer(PriceBatch batch) {
+        var conflated = 0;
+        for (int index = 0; index < batch.size(); index++) {
+            var handle = batch.handle(index);
+            var slot = find(handle);
+            if (slots[slot] != 0) {
+                pending.setPrice(slots[slot] - 1, batch.price(index));
+                conflated++;
+            } else {
+                pending.add(handle, batch.price(index));
+                slots[slot] = pending.size();
+                if (2 * pending.size() > slots.length) {
+                    rehash();
+                }
+            }
+        }
+        return conflated;
+    }
+
+    synchronized PriceBatch poll() {
+        if (pending.size() == 0) {
+            return null;
+        }
+        var batch = pending;
+        pending = spare != null ? spare : new PriceBatch();
+        spare = null;
+        Arrays.fill(slots, 0);
+        return batch;
+    }
+
+    synchronized void recycle(PriceBatch batch) {
+        batch.clear();
+        spare = batch;
+    }
+
+    synchronized boolean isEmpty() {
+        return pending.size() == 0;
+    }
+
+    private int find(int handle) {
+        var mask = slots.length - 1;
+        var slot = (handle * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mask);
+        while (slots[slot] != 0 && pending.handle(slots[slot] - 1) != handle) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        for (int index = 0; index < pending.size(); index++) {
+            slots[find(pending.handle(index))] = index + 1;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.paumard.flightmonitoring.pricemonitoring;
+
+import org.paumard.flightmonitoring.business.metrics.Counter;
+import org.paumard.flightmonitoring.business.metrics.Metrics;
+import org.paumard.flightmonitoring.business.service.FlightBatchConsumer;
+import org.paumard.flightmonitoring.business.service.PriceBatch;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+final class ConsumerDriver {
+
+    private static final Counter CONFLATED_PRICES = Metrics.instance().counter("price.conflated");
+
+    private final FlightBatchConsumer consumer;
+    private final Executor executor;
+    private final LongAdder conflatedPrices;
+    private final ConflationQueue mailbox = new ConflationQueue();
+    private final Queue<Runnable> completions = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    ConsumerDriver(FlightBatchConsumer consumer, Executor executor, LongAdder conflatedPrices) {
+        this.consumer = consumer;
+        this.executor = executor;
+        this.conflatedPrices = conflatedPrices;
+    }
+
+    void submit(PriceBatch batch, Runnable dispatched) {
+        var conflated = mailbox.offer(batch);
+        if (conflated > 0) {
+            conflatedPrices.add(conflated);
+            CONFLATED_PRICES.add(conflated);
+        }
+        completions.add(dispatched);
+        if (running.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    boolean isIdle() {
+        return !running.get() && mailbox.isEmpty() && completions.isEmpty();
+    }
+
+    private void drain() {
+        do {
+            var offered = completions.size();
+            PriceBatch batch;
+            while ((batch = mailbox.poll()) != null) {
+                Dispatch.dispatch(consumer, batch);
+                mailbox.recycle(batch);
+            }
+            for (int index = 0; index < offered; index++) {
+                completions.remove().run();
+            }
+            running.set(false);
+        } while ((!mailbox.isEmpty() || !completions.isEmpty()) && running.compareAndSet(false, true));
+    }
+}
@@ -0,0 +1,30 @@
+package org.paumard.flightmonitoring.pricemonitoring;
+
+import org.paumard.flightmonitoring.business.metrics.Counter;
+import org.paumard.flightmonitoring.business.metrics.LatencyHistogram;
+import org.paumard.flightmonitoring.business.metrics.Metrics;
+import org.paumard.flightmonitoring.business.service.FlightBatchConsumer;
+import org.paumard.flightmonitoring.business.service.PriceBatch;
+
+final class Dispatch {
+
+    private static final Counter DISPATCHED_PRICES = Metrics.instance().counter("price.dispatch.prices");
+    private static final Counter FAILED_DISPATCHES = Metrics.instance().counter("price.dispatch.failures");
+    private static final LatencyHistogram DISPATCH_LATENCY = Metrics.instance().histogram("price.dispatch.latency");
+
+    private Dispatch() {
+    }
+
+    static void dispatch(FlightBatchConsumer consumer, PriceBatch batch) {
+        var start = System.nanoTime();
+        try {
+            consumer.updateFlights(batch);
+            DISPATCHED_PRICES.add(batch.size());
+        } catch (RuntimeException e) {
+            FAILED_DISPATCHES.increment();
+            System.out.println("Price update failed for " + batch.size() + " flights: " + e.getMessage());
+        } finally {
+            DISPATCH_LATENCY.recordSince(start);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package org.paumard.flightmonitoring.pricemonitoring;
+
+public enum ExecutionMode {
+    PLATFORM, VIRTUAL
+}
@@ -0,0 +1,99 @@
+package org.paumard.flightmonitoring.pricemonitoring;
+
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.model.FlightID;
+import org.paumard.flightmonitoring.business.service.FlightBatchConsumer;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class FlightConsumerRegistry {
+
+    private static final FlightBatchConsumer[] NO_CONSUMERS = new FlightBatchConsumer[0];
+
+    public interface RegistrationConsumer {
+        void accept(int handle, FlightBatchConsumer[] consumers);
+    }
+
+    private record Registration(int handle, FlightBatchConsumer[] consumers) {}
+
+    private final ConcurrentHashMap<FlightID, Registration>[] shards;
+    private final int mask;
+
+    public FlightConsumerRegistry() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public FlightConsumerRegistry(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("The number of shards should be positive: " + shardCount);
+        }
+        var size = Integer.highestOneBit(shardCount - 1) << 1;
+        this.shards = new ConcurrentHashMap[Math.max(size, 1)];
+        for (int index = 0; index < shards.length; index++) {
+            shards[index] = new ConcurrentHashMap<>();
+        }
+        this.mask = shards.length - 1;
+    }
+
+    public void register(FlightID flightID, FlightBatchConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        var handle = FlightHandles.instance().handleOf(flightID);
+        shards[handle & mask].merge(flightID, new Registration(handle, new FlightBatchConsumer[]{consumer}),
+                (registration, added) -> {
+                    var consumers = registration.consumers();
+                    var merged = Arrays.copyOf(consumers, consumers.length + 1);
+                    merged[consumers.length] = consumer;
+                    return new Registration(handle, merged);
+                });
+    }
+
+    public boolean unregister(FlightID flightID, FlightBatchConsumer consumer) {
+        var removed = new boolean[1];
+        var handle = FlightHandles.instance().handleOf(flightID);
+        shards[handle & mask].computeIfPresent(flightID,
+                (_, registration) -> {
+                    var consumers = registration.consumers();
+                    for (int index = 0; index < consumers.length; index++) {
+                        if (consumers[index].equals(consumer)) {
+                            removed[0] = true;
+                            if (consumers.length == 1) {
+                                return null;
+                            }
+                            var remaining = new FlightBatchConsumer[consumers.length - 1];
+                            System.arraycopy(consumers, 0, remaining, 0, index);
+                            System.arraycopy(consumers, index + 1, remaining, index, consumers.length - index - 1);
+                            return new Registration(handle, remaining);
+                        }
+                    }
+                    return registration;
+                });
+        return removed[0];
+    }
+
+    public FlightBatchConsumer[] consumers(FlightID flightID) {
+        var handle = FlightHandles.instance().handleOf(flightID);
+        var registration = shards[handle & mask].get(flightID);
+        return registration == null ? NO_CONSUMERS : registration.consumers();
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    public void forEach(int shard, RegistrationConsumer action) {
+        for (var registration : shards[shard].values()) {
+            action.accept(registration.handle(), registration.consumers());
+        }
+    }
+
+    public int size() {
+        var size = 0;
+        for (var shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+}
@@ -1,33 +1,159 @@
 package org.paumard.flightmonitoring.pricemonitoring;
 
 import org.paumard.flightmonitoring.business.model.FlightID;
-import org.paumard.flightmonitoring.business.model.Price;
-import org.paumard.flightmonitoring.business.service.FlightConsumer;
+import org.paumard.flightmonitoring.business.service.FlightBatchConsumer;
 import org.paumard.flightmonitoring.business.service.PriceMonitoringService;
+import org.paumard.flightmonitoring.business.service.PriceTick;
+import org.paumard.flightmonitoring.pricemonitoring.feed.PriceDistribution;
+import org.paumard.flightmonitoring.pricemonitoring.feed.PriceFeed;
+import org.paumard.flightmonitoring.pricemonitoring.feed.SyntheticPriceFeed;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Random;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SubmissionPublisher;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class FlightPriceMonitoringService implements PriceMonitoringService {
 
-    private static final Map<FlightID, FlightConsumer> registry = new HashMap<>();
+    private static final Duration DEFAULT_TICK_PERIOD = Duration.ofMillis(500);
 
-    public void followPrice(FlightID flightID, FlightConsumer consumer) {
-        System.out.println("Monitoring the price for " + flightID);
-        registry.put(flightID, consumer);
+    private final FlightConsumerRegistry registry = new FlightConsumerRegistry();
+    private final SubmissionPublisher<PriceTick> publisher = new SubmissionPublisher<>();
+    private final PriceFeed feed;
+    private final PriceFanOut fanOut;
+    private final Duration tickPeriod;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final ReentrantLock lifecycle = new ReentrantLock();
+
+    private ScheduledFuture<?> ticks;
+    private boolean closed;
+
+    public FlightPriceMonitoringService() {
+        this(DEFAULT_TICK_PERIOD);
+    }
+
+    public FlightPriceMonitoringService(Duration tickPeriod) {
+        this(tickPeriod, Runtime.getRuntime().availableProcessors());
+    }
+
+    public FlightPriceMonitoringService(Duration tickPeriod, int workerCount) {
+        this(tickPeriod, workerCount, ExecutionMode.PLATFORM);
+    }
+
+    public FlightPriceMonitoringService(Duration tickPeriod, int workerCount, ExecutionMode executionMode) {
+        this(tickPeriod, workerCount, executionMode, null);
+    }
+
+    public FlightPriceMonitoringService(Duration tickPeriod, int workerCount, ExecutionMode executionMode,
+                                        ScheduledExecutorService scheduler) {
+        this(new SyntheticPriceFeed(314L, new PriceDistribution.Uniform(80, 120)),
+                tickPeriod, workerCount, executionMode, scheduler);
+    }
+
+    public FlightPriceMonitoringService(PriceFeed feed) {
+        this(feed, DEFAULT_TICK_PERIOD, Runtime.getRuntime().availableProcessors(), ExecutionMode.PLATFORM, null);
+    }
+
+    public FlightPriceMonitoringService(PriceFeed feed, Duration tickPeriod, int workerCount,
+                                        ExecutionMode executionMode, ScheduledExecutorService scheduler) {
+        if (tickPeriod.isNegative() || tickPeriod.isZero()) {
+            throw new IllegalArgumentException("The tick period should be positive: " + tickPeriod);
+        }
+        this.tickPeriod = tickPeriod;
+        this.ownsScheduler = scheduler == null;
+        this.scheduler = ownsScheduler ? Executors.newSingleThreadScheduledExecutor() : scheduler;
+        this.feed = feed;
+        this.fanOut = new PriceFanOut(registry, workerCount, feed, publisher, executionMode);
+    }
+
+    public void followPrices(Collection<? extends FlightID> flightIDs, FlightBatchConsumer consumer) {
+        for (var flightID : flightIDs) {
+            System.out.println("Monitoring the price for " + flightID);
+            registry.register(flightID, consumer);
+        }
+    }
+
+    public void unfollowPrices(Collection<? extends FlightID> flightIDs, FlightBatchConsumer consumer) {
+        for (var flightID : flightIDs) {
+            if (registry.unregister(flightID, consumer)) {
+                System.out.println("No longer monitoring the price for " + flightID);
+            }
+        }
     }
 
     public void updatePrices() {
-        var random = new Random(314L);
-        var executor = Executors.newScheduledThreadPool(1);
-        Runnable task = () -> {
-            for (var flightConsumer : registry.values()) {
-                flightConsumer.updateFlight(new Price(random.nextInt(80, 120)));
+        lifecycle.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The price monitoring service is closed");
+            }
+            if (ticks == null) {
+                ticks = scheduler.scheduleAtFixedRate(this::tick, 0, tickPeriod.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lifecycle.unlock();
+        }
+    }
+
+    public void close() {
+        lifecycle.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (ticks != null) {
+                ticks.cancel(false);
+            }
+        } finally {
+            lifecycle.unlock();
+        }
+        if (ownsScheduler) {
+            scheduler.close();
+        }
+        fanOut.close();
+        feed.close();
+        publisher.close();
+    }
+
+    public Flow.Publisher<PriceTick> priceUpdates() {
+        return publisher;
+    }
+
+    public Duration lastTickDuration() {
+        return fanOut.lastTickDuration();
+    }
+
+    public Duration maxTickDuration() {
+        return fanOut.maxTickDuration();
+    }
+
+    public long skippedPartitions() {
+        return fanOut.skippedPartitions();
+    }
+
+    public long suppressedPrices() {
+        return fanOut.suppressedPrices();
+    }
+
+    public long conflatedPrices() {
+        return fanOut.conflatedPrices();
+    }
+
+    private void tick() {
+        lifecycle.lock();
+        try {
+            if (!closed) {
+                fanOut.tick();
             }
-        };
-        executor.scheduleAtFixedRate(task, 0, 500, TimeUnit.MILLISECONDS);
+        } finally {
+            lifecycle.unlock();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,286 @@
+package org.paumard.flightmonitoring.pricemonitoring;
+
+import org.paumard.flightmonitoring.business.metrics.Counter;
+import org.paumard.flightmonitoring.business.metrics.LatencyHistogram;
+import org.paumard.flightmonitoring.business.metrics.Metrics;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+import org.paumard.flightmonitoring.business.service.FlightBatchConsumer;
+import org.paumard.flightmonitoring.business.service.PriceBatch;
+import org.paumard.flightmonitoring.business.service.PriceTick;
+import org.paumard.flightmonitoring.pricemonitoring.feed.PriceFeed;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PriceFanOut implements AutoCloseable {
+
+    private static final LatencyHistogram TICK_LATENCY = Metrics.instance().histogram("price.tick.latency");
+    private static final Counter SKIPPED_PARTITIONS = Metrics.instance().counter("price.tick.skipped.partitions");
+    private static final Counter SUPPRESSED_PRICES = Metrics.instance().counter("price.suppressed");
+    private static final Counter DROPPED_TICKS = Metrics.instance().counter("price.tick.dropped");
+
+    private static final int IDLE = 0;
+    private static final int BUSY = 1;
+
+    private final FlightConsumerRegistry registry;
+    private final ExecutorService workers;
+    private final ExecutorService consumerThreads;
+    private final Partition[] partitions;
+    private final AtomicIntegerArray partitionStates;
+    private final SubmissionPublisher<PriceTick> publisher;
+    private final AtomicLong tickSequence = new AtomicLong();
+    private final LongAdder completedTicks = new LongAdder();
+    private final LongAdder droppedTicks = new LongAdder();
+    private final LongAdder skippedPartitions = new LongAdder();
+    private final LongAdder suppressedPrices = new LongAdder();
+    private final LongAdder conflatedPrices = new LongAdder();
+
+    private volatile long lastTickNanos;
+    private final LongAccumulator maxTickNanos = new LongAccumulator(Math::max, 0L);
+
+    public PriceFanOut(FlightConsumerRegistry registry, int workerCount, PriceFeed feed,
+                       SubmissionPublisher<PriceTick> publisher) {
+        this(registry, workerCount, feed, publisher, ExecutionMode.PLATFORM);
+    }
+
+    public PriceFanOut(FlightConsumerRegistry registry, int workerCount, PriceFeed feed,
+                       SubmissionPublisher<PriceTick> publisher, ExecutionMode executionMode) {
+        this.registry = registry;
+        this.publisher = publisher;
+        this.workers = Executors.newFixedThreadPool(workerCount);
+        this.consumerThreads = switch (executionMode) {
+            case PLATFORM -> null;
+            case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+        };
+        var partitionCount = registry.shardCount();
+        var partitionShift = Integer.numberOfTrailingZeros(partitionCount);
+        this.partitions = new Partition[partitionCount];
+        for (int partition = 0; partition < partitionCount; partition++) {
+            partitions[partition] = new Partition(feed.partition(partition), partitionShift);
+        }
+        this.partitionStates = new AtomicIntegerArray(partitionCount);
+    }
+
+    public void tick() {
+        var partitionCount = registry.shardCount();
+        var tick = new Tick(tickSequence.incrementAndGet(), partitionCount);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            if (partitionStates.compareAndSet(partition, IDLE, BUSY)) {
+                var submitted = partition;
+                workers.execute(() -> {
+                    try {
+                        tick.flights.addAndGet(runPartition(submitted, tick));
+                    } finally {
+                        partitionStates.set(submitted, IDLE);
+                        tick.partitionDone();
+                    }
+                });
+            } else {
+                skippedPartitions.increment();
+                SKIPPED_PARTITIONS.increment();
+                tick.skipped.incrementAndGet();
+                tick.partitionDone();
+            }
+        }
+    }
+
+    public void close() {
+        workers.close();
+        if (consumerThreads != null) {
+            consumerThreads.close();
+        }
+    }
+
+    public Duration lastTickDuration() {
+        return Duration.ofNanos(lastTickNanos);
+    }
+
+    public Duration maxTickDuration() {
+        return Duration.ofNanos(maxTickNanos.get());
+    }
+
+    public long completedTicks() {
+        return completedTicks.sum();
+    }
+
+    public long droppedTicks() {
+        return droppedTicks.sum();
+    }
+
+    public long skippedPartitions() {
+        return skippedPartitions.sum();
+    }
+
+    public long suppressedPrices() {
+        return suppressedPrices.sum();
+    }
+
+    public long conflatedPrices() {
+        return conflatedPrices.sum();
+    }
+
+    public int busyPartitions() {
+        var busy = 0;
+        for (int partition = 0; partition < partitionStates.length(); partition++) {
+            busy += partitionStates.get(partition);
+        }
+        return busy;
+    }
+
+    private int runPartition(int index, Tick tick) {
+        var partition = partitions[index];
+        registry.forEach(index, (handle, consumers) -> {
+            var price = partition.feed.nextPrice(handle);
+            if (price == PriceStore.NO_PRICE || partition.isUnchanged(handle, price, consumers)) {
+                return;
+            }
+            partition.dispatched++;
+            for (var consumer : consumers) {
+                partition.batchFor(consumer).add(handle, price);
+            }
+        });
+        if (consumerThreads == null) {
+            partition.deliver();
+        } else {
+            partition.handOff(consumerThreads, conflatedPrices, tick);
+        }
+        if (partition.suppressed > 0) {
+            suppressedPrices.add(partition.suppressed);
+            SUPPRESSED_PRICES.add(partition.suppressed);
+            partition.suppressed = 0;
+        }
+        var dispatched = partition.dispatched;
+        partition.dispatched = 0;
+        return dispatched;
+    }
+
+    private void recordTick(long nanos) {
+        TICK_LATENCY.recordNanos(nanos);
+        lastTickNanos = nanos;
+        maxTickNanos.accumulate(nanos);
+        completedTicks.increment();
+    }
+
+    private void publishTick(long sequence, int flights) {
+        if (flights > 0 && publisher.hasSubscribers()) {
+            publisher.offer(new PriceTick(sequence, flights), (_, _) -> {
+                droppedTicks.increment();
+                DROPPED_TICKS.increment();
+                return false;
+            });
+        }
+    }
+
+    private final class Tick {
+
+        private final long sequence;
+        private final long start = System.nanoTime();
+        private final PriceTickEvent event = new PriceTickEvent();
+        private final AtomicInteger pending;
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger flights = new AtomicInteger();
+
+        private Tick(long sequence, int partitionCount) {
+            this.sequence = sequence;
+            this.pending = new AtomicInteger(partitionCount);
+            event.begin();
+            event.partitions = partitionCount;
+        }
+
+        private Runnable handOff() {
+            pending.incrementAndGet();
+            return this::partitionDone;
+        }
+
+        private void partitionDone() {
+            if (pending.decrementAndGet() == 0) {
+                publishTick(sequence, flights.get());
+                recordTick(System.nanoTime() - start);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.skippedPartitions = skipped.get();
+                    event.flights = flights.get();
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    private static final class Partition {
+
+        private final PriceFeed.PartitionFeed feed;
+        private final Map<FlightBatchConsumer, PriceBatch> batches = new HashMap<>();
+        private final Map<FlightBatchConsumer, ConsumerDriver> drivers = new HashMap<>();
+        private final ArrayDeque<PriceBatch> pool = new ArrayDeque<>();
+        private final int shift;
+
+        private int[] lastPrices = new int[0];
+        private FlightBatchConsumer[][] lastConsumers = new FlightBatchConsumer[0][];
+        private long suppressed;
+        private int dispatched;
+
+        private Partition(PriceFeed.PartitionFeed feed, int shift) {
+            this.feed = feed;
+            this.shift = shift;
+        }
+
+        private boolean isUnchanged(int handle, int price, FlightBatchConsumer[] consumers) {
+            var slot = handle >>> shift;
+            if (slot >= lastPrices.length) {
+                var length = Math.max(slot + 1, 2 * lastPrices.length);
+                lastPrices = Arrays.copyOf(lastPrices, length);
+                lastConsumers = Arrays.copyOf(lastConsumers, length);
+            }
+            if (lastPrices[slot] == price + 1 && lastConsumers[slot] == consumers) {
+                suppressed++;
+                return true;
+            }
+            lastPrices[slot] = price + 1;
+            lastConsumers[slot] = consumers;
+            return false;
+        }
+
+        private PriceBatch batchFor(FlightBatchConsumer consumer) {
+            var batch = batches.get(consumer);
+            if (batch == null) {
+                batch = pool.isEmpty() ? new PriceBatch() : pool.pop();
+                batches.put(consumer, batch);
+            }
+            return batch;
+        }
+
+        private void deliver() {
+            for (var entry : batches.entrySet()) {
+                var batch = entry.getValue();
+                Dispatch.dispatch(entry.getKey(), batch);
+                batch.clear();
+                pool.push(batch);
+            }
+            batches.clear();
+        }
+
+        private void handOff(ExecutorService consumerThreads, LongAdder conflatedPrices, Tick tick) {
+            drivers.entrySet().removeIf(entry -> !batches.containsKey(entry.getKey()) && entry.getValue().isIdle());
+            for (var entry : batches.entrySet()) {
+                var batch = entry.getValue();
+                drivers.computeIfAbsent(entry.getKey(),
+                                consumer -> new ConsumerDriver(consumer, consumerThreads, conflatedPrices))
+                        .submit(batch, tick.handOff());
+                batch.clear();
+                pool.push(batch);
+            }
+            batches.clear();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.paumard.flightmonitoring.pricemonitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.paumard.flightmonitoring.PriceTick")
+@Label("Price Tick")
+@Category({"Flight Monitoring", "Price Monitoring"})
+@Description("One price tick, from its start to the end of its last partition")
+final class PriceTickEvent extends Event {
+
+    @Label("Partitions")
+    int partitions;
+
+    @Label("Skipped Partitions")
+    int skippedPartitions;
+
+    @Label("Flights")
+    int flights;
+}
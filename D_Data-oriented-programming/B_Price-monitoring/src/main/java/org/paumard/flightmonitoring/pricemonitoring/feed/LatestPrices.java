@@ -0,0 +1,63 @@
+package org.paumard.flightmonitoring.pricemonitoring.feed;
+
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+final class LatestPrices {
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile AtomicIntegerArray[] chunks = new AtomicIntegerArray[0];
+
+    void put(PriceLine line) {
+        put(FlightHandles.instance().handleOf(line.flightID()), line.price());
+    }
+
+    void put(int handle, int price) {
+        if (price < 0) {
+            throw new IllegalArgumentException("Invalid price: " + price);
+        }
+        chunk(handle).set(handle & CHUNK_MASK, price + 1);
+    }
+
+    int take(int handle) {
+        var chunks = this.chunks;
+        var chunk = handle >>> CHUNK_SHIFT;
+        if (chunk >= chunks.length) {
+            return PriceStore.NO_PRICE;
+        }
+        var prices = chunks[chunk];
+        var index = handle & CHUNK_MASK;
+        if (prices.get(index) == 0) {
+            return PriceStore.NO_PRICE;
+        }
+        return prices.getAndSet(index, 0) - 1;
+    }
+
+    private AtomicIntegerArray chunk(int handle) {
+        var chunks = this.chunks;
+        var chunk = handle >>> CHUNK_SHIFT;
+        if (chunk < chunks.length) {
+            return chunks[chunk];
+        }
+        return grow(chunk);
+    }
+
+    private synchronized AtomicIntegerArray grow(int chunk) {
+        var chunks = this.chunks;
+        if (chunk >= chunks.length) {
+            var grown = Arrays.copyOf(chunks, chunk + 1);
+            for (int index = chunks.length; index < grown.length; index++) {
+                grown[index] = new AtomicIntegerArray(CHUNK_SIZE);
+            }
+            this.chunks = grown;
+            chunks = grown;
+        }
+        return chunks[chunk];
+    }
+}
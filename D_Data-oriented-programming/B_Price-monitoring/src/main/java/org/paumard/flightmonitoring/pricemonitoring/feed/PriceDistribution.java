@@ -0,0 +1,30 @@
+package org.paumard.flightmonitoring.pricemonitoring.feed;
+
+import java.util.SplittableRandom;
+
+public sealed interface PriceDistribution {
+
+    record Uniform(int min, int max) implements PriceDistribution {
+        public Uniform {
+            if (min < 0 || min >= max) {
+                throw new IllegalArgumentException("Invalid price range: [" + min + ", " + max + ")");
+            }
+        }
+    }
+
+    record Gaussian(int mean, int standardDeviation) implements PriceDistribution {
+        public Gaussian {
+            if (mean < 0 || standardDeviation < 0) {
+                throw new IllegalArgumentException("Invalid gaussian prices: " + mean + " +/- " + standardDeviation);
+            }
+        }
+    }
+
+    default int sample(SplittableRandom random) {
+        return switch (this) {
+            case Uniform(int min, int max) -> random.nextInt(min, max);
+            case Gaussian(int mean, int standardDeviation) ->
+                    Math.max(0, (int) Math.round(mean + random.nextGaussian() * standardDeviation));
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package org.paumard.flightmonitoring.pricemonitoring.feed;
+
+public interface PriceFeed extends AutoCloseable {
+
+    interface PartitionFeed {
+        int nextPrice(int handle);
+    }
+
+    PartitionFeed partition(int partition);
+
+    default void close() {
+    }
+}
@@ -0,0 +1,41 @@
+package org.paumard.flightmonitoring.pricemonitoring.feed;
+
+import org.paumard.flightmonitoring.business.model.FlightID;
+import org.paumard.flightmonitoring.business.model.MultilegFlightID;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+
+public record PriceLine(long timestamp, FlightID flightID, int price) {
+
+    public static PriceLine parse(String line) {
+        var first = line.indexOf(',');
+        var second = line.indexOf(',', first + 1);
+        if (first < 0 || second < 0) {
+            throw new IllegalArgumentException("Invalid price line: " + line);
+        }
+        try {
+            var timestamp = Long.parseLong(line, 0, first, 10);
+            var flightID = parseFlightID(line.substring(first + 1, second));
+            var price = Integer.parseInt(line, second + 1, line.length(), 10);
+            return new PriceLine(timestamp, flightID, price);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price line: " + line, e);
+        }
+    }
+
+    public static FlightID parseFlightID(String token) {
+        if (token.startsWith("S:")) {
+            return new SimpleFlightID(token.substring(2));
+        } else if (token.startsWith("M:")) {
+            return new MultilegFlightID(token.substring(2));
+        }
+        throw new IllegalArgumentException("Invalid flight: " + token);
+    }
+
+    public String format() {
+        var flight = switch (flightID) {
+            case SimpleFlightID(String id) -> "S:" + id;
+            case MultilegFlightID(String id) -> "M:" + id;
+        };
+        return timestamp + "," + flight + "," + price;
+    }
+}
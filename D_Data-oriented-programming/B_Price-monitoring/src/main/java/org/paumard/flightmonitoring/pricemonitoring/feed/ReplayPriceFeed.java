@@ -0,0 +1,84 @@
+package org.paumard.flightmonitoring.pricemonitoring.feed;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ReplayPriceFeed implements PriceFeed {
+
+    private final LatestPrices prices = new LatestPrices();
+    private final BufferedReader reader;
+    private final double speed;
+    private final Thread replayer;
+    private final LongAdder replayedPrices = new LongAdder();
+
+    private volatile boolean closed;
+    private volatile boolean done;
+
+    public ReplayPriceFeed(Path file, double speed) throws IOException {
+        if (speed < 0) {
+            throw new IllegalArgumentException("The replay speed should not be negative: " + speed);
+        }
+        this.reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII);
+        this.speed = speed;
+        this.replayer = Thread.ofPlatform().name("price-replay").daemon().start(this::replay);
+    }
+
+    public PartitionFeed partition(int partition) {
+        return prices::take;
+    }
+
+    public long replayedPrices() {
+        return replayedPrices.sum();
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public void close() {
+        closed = true;
+        replayer.interrupt();
+        try {
+            replayer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void replay() {
+        try (reader) {
+            var start = System.nanoTime();
+            var firstTimestamp = Long.MIN_VALUE;
+            String line;
+            while (!closed && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                var priceLine = PriceLine.parse(line);
+                if (firstTimestamp == Long.MIN_VALUE) {
+                    firstTimestamp = priceLine.timestamp();
+                }
+                if (speed > 0) {
+                    var due = start + (long) (TimeUnit.MILLISECONDS.toNanos(priceLine.timestamp() - firstTimestamp) / speed);
+                    var delay = due - System.nanoTime();
+                    if (delay > 0) {
+                        TimeUnit.NANOSECONDS.sleep(delay);
+                    }
+                }
+                prices.put(priceLine);
+                replayedPrices.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Price replay failed: " + e.getMessage());
+        } finally {
+            done = true;
+        }
+    }
+}
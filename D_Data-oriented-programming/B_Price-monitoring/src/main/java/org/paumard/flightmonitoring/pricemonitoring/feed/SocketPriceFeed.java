@@ -0,0 +1,103 @@
+package org.paumard.flightmonitoring.pricemonitoring.feed;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SocketPriceFeed implements PriceFeed {
+
+    private final LatestPrices prices = new LatestPrices();
+    private final ServerSocketChannel server;
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+    private final LongAdder receivedPrices = new LongAdder();
+    private final LongAdder rejectedLines = new LongAdder();
+
+    public SocketPriceFeed(int port) throws IOException {
+        this.server = ServerSocketChannel.open()
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.acceptor = Thread.ofPlatform().name("price-feed-acceptor").daemon().start(this::accept);
+    }
+
+    public PartitionFeed partition(int partition) {
+        return prices::take;
+    }
+
+    public int port() {
+        return server.socket().getLocalPort();
+    }
+
+    public long receivedPrices() {
+        return receivedPrices.sum();
+    }
+
+    public long rejectedLines() {
+        return rejectedLines.sum();
+    }
+
+    public void close() {
+        try {
+            server.close();
+        } catch (IOException e) {
+            System.out.println("Closing the price feed failed: " + e.getMessage());
+        }
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (var connection : connections) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                System.out.println("Closing a price feed connection failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            while (true) {
+                var connection = server.accept();
+                connections.add(connection);
+                Thread.ofVirtual().name("price-feed-connection").start(() -> read(connection));
+            }
+        } catch (ClosedChannelException e) {
+            // the feed is closed
+        } catch (IOException e) {
+            System.out.println("Accepting price feed connections failed: " + e.getMessage());
+        }
+    }
+
+    private void read(SocketChannel connection) {
+        try (connection;
+             var reader = new BufferedReader(new InputStreamReader(
+                     Channels.newInputStream(connection), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    prices.put(PriceLine.parse(line));
+                    receivedPrices.increment();
+                } catch (IllegalArgumentException e) {
+                    rejectedLines.increment();
+                }
+            }
+        } catch (IOException e) {
+            if (connection.isOpen()) {
+                System.out.println("Reading the price feed failed: " + e.getMessage());
+            }
+        } finally {
+            connections.remove(connection);
+        }
+    }
+}
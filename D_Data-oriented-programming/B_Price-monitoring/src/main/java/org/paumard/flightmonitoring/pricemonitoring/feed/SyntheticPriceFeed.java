@@ -0,0 +1,19 @@
+package org.paumard.flightmonitoring.pricemonitoring.feed;
+
+import java.util.SplittableRandom;
+
+public class SyntheticPriceFeed implements PriceFeed {
+
+    private final SplittableRandom root;
+    private final PriceDistribution distribution;
+
+    public SyntheticPriceFeed(long seed, PriceDistribution distribution) {
+        this.root = new SplittableRandom(seed);
+        this.distribution = distribution;
+    }
+
+    public synchronized PartitionFeed partition(int partition) {
+        var random = root.split();
+        return _ -> distribution.sample(random);
+    }
+}
@@ -0,0 +1,78 @@
+package org.paumard.flightmonitoring.pricemonitoring;
+
+import org.junit.jupiter.api.Test;
+import org.paumard.flightmonitoring.business.service.PriceBatch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConflationQueueTest {
+
+    @Test
+    public void should_keep_the_latest_price_of_repeated_handles() {
+        var queue = new ConflationQueue();
+
+        assertThat(queue.offer(batch(1, 100, 2, 200))).isZero();
+        assertThat(queue.offer(batch(1, 110, 3, 300, 1, 120))).isEqualTo(2);
+
+        assertThat(prices(queue.poll())).containsExactly(
+                Map.entry(1, 120), Map.entry(2, 200), Map.entry(3, 300));
+        assertThat(queue.isEmpty()).isTrue();
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    public void should_not_conflate_with_prices_already_polled() {
+        var queue = new ConflationQueue();
+        queue.offer(batch(1, 100, 2, 200));
+        var polled = queue.poll();
+        queue.recycle(polled);
+
+        assertThat(queue.offer(batch(2, 210, 1, 110))).isZero();
+        assertThat(prices(queue.poll())).containsExactly(Map.entry(2, 210), Map.entry(1, 110));
+
+        queue.offer(batch(3, 300));
+        var batch = queue.poll();
+        assertThat(batch).isSameAs(polled);
+        assertThat(prices(batch)).containsExactly(Map.entry(3, 300));
+    }
+
+    @Test
+    public void should_conflate_across_a_rehash() {
+        var queue = new ConflationQueue();
+        var first = new PriceBatch();
+        var second = new PriceBatch();
+        for (int handle = 0; handle < 1_000; handle++) {
+            first.add(handle * 64, handle);
+            second.add(handle * 64, handle + 1);
+        }
+
+        assertThat(queue.offer(first)).isZero();
+        assertThat(queue.offer(second)).isEqualTo(1_000);
+
+        var batch = queue.poll();
+        assertThat(batch.size()).isEqualTo(1_000);
+        for (int index = 0; index < batch.size(); index++) {
+            assertThat(batch.handle(index)).isEqualTo(index * 64);
+            assertThat(batch.price(index)).isEqualTo(index + 1);
+        }
+    }
+
+    private static PriceBatch batch(int... handlesAndPrices) {
+        var batch = new PriceBatch();
+        for (int index = 0; index < handlesAndPrices.length; index += 2) {
+            batch.add(handlesAndPrices[index], handlesAndPrices[index + 1]);
+        }
+        return batch;
+    }
+
+    private static Map<Integer, Integer> prices(PriceBatch batch) {
+        var prices = new LinkedHashMap<Integer, Integer>();
+        for (int index = 0; index < batch.size(); index++) {
+            prices.put(batch.handle(index), batch.price(index));
+        }
+        return prices;
+    }
+}
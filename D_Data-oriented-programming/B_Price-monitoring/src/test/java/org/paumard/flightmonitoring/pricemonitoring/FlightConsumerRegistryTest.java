@@ -0,0 +1,107 @@
+package org.paumard.flightmonitoring.pricemonitoring;
+
+import org.junit.jupiter.api.Test;
+import org.paumard.flightmonitoring.business.model.FlightID;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+import org.paumard.flightmonitoring.business.service.FlightBatchConsumer;
+import org.paumard.flightmonitoring.business.service.PriceBatch;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FlightConsumerRegistryTest {
+
+    private static final int THREADS = 8;
+    private static final int FLIGHTS = 1_000;
+    private static final int CONSUMERS_PER_THREAD = 10_000;
+
+    record TestConsumer(int thread, int index) implements FlightBatchConsumer {
+        public void updateFlights(PriceBatch batch) {
+        }
+    }
+
+    @Test
+    public void should_keep_several_consumers_per_flight() {
+        var registry = new FlightConsumerRegistry(4);
+        var flightID = new SimpleFlightID("PaAt");
+        FlightBatchConsumer first = _ -> {};
+        FlightBatchConsumer second = _ -> {};
+
+        registry.register(flightID, first);
+        registry.register(flightID, second);
+
+        assertThat(registry.consumers(flightID)).containsExactly(first, second);
+        assertThat(registry.unregister(flightID, first)).isTrue();
+        assertThat(registry.consumers(flightID)).containsExactly(second);
+        assertThat(registry.unregister(flightID, first)).isFalse();
+        assertThat(registry.unregister(flightID, second)).isTrue();
+        assertThat(registry.consumers(flightID)).isEmpty();
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    public void should_not_lose_concurrent_registrations_during_fan_out() throws Exception {
+        var registry = new FlightConsumerRegistry();
+        var flightIDs = new ArrayList<FlightID>();
+        for (int index = 0; index < FLIGHTS; index++) {
+            flightIDs.add(new SimpleFlightID("F" + index));
+        }
+
+        var start = new CountDownLatch(1);
+        var running = new AtomicBoolean(true);
+        var delivered = new AtomicLong();
+        try (var executor = Executors.newFixedThreadPool(THREADS + 1)) {
+            var fanOut = executor.submit(() -> {
+                while (running.get()) {
+                    for (int shard = 0; shard < registry.shardCount(); shard++) {
+                        registry.forEach(shard, (_, consumers) -> delivered.addAndGet(consumers.length));
+                    }
+                }
+            });
+
+            var registrations = new ArrayList<Future<List<FlightBatchConsumer>>>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                var threadIndex = thread;
+                registrations.add(executor.submit(() -> {
+                    start.await();
+                    var kept = new ArrayList<FlightBatchConsumer>();
+                    for (int index = 0; index < CONSUMERS_PER_THREAD; index++) {
+                        var flightID = flightIDs.get(index % FLIGHTS);
+                        var consumer = new TestConsumer(threadIndex, index);
+                        registry.register(flightID, consumer);
+                        if (index % 3 == 0) {
+                            assertThat(registry.unregister(flightID, consumer)).isTrue();
+                        } else {
+                            kept.add(consumer);
+                        }
+                    }
+                    return kept;
+                }));
+            }
+            start.countDown();
+
+            var expected = new ArrayList<FlightBatchConsumer>();
+            for (var registration : registrations) {
+                expected.addAll(registration.get());
+            }
+            running.set(false);
+            fanOut.get();
+
+            var registered = new ArrayList<FlightBatchConsumer>();
+            for (var flightID : flightIDs) {
+                registered.addAll(List.of(registry.consumers(flightID)));
+            }
+            assertThat(registered).hasSameSizeAs(expected);
+            assertThat(new HashSet<>(registered)).isEqualTo(new HashSet<>(expected));
+            assertThat(registry.size()).isEqualTo(FLIGHTS);
+        }
+    }
+}
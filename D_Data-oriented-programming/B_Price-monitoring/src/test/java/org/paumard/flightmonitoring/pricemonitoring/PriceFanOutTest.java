@@ -0,0 +1,268 @@
+package org.paumard.flightmonitoring.pricemonitoring;
+
+import org.junit.jupiter.api.Test;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+import org.paumard.flightmonitoring.business.service.FlightBatchConsumer;
+import org.paumard.flightmonitoring.business.service.PriceBatch;
+import org.paumard.flightmonitoring.business.service.PriceTick;
+import org.paumard.flightmonitoring.pricemonitoring.feed.PriceFeed;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PriceFanOutTest {
+
+    private static final int PARTITIONS = 8;
+    private static final int FLIGHTS = 100;
+
+    private static final PriceFeed CHANGING_PRICES = _ -> {
+        var ticks = new int[1];
+        return _ -> ticks[0]++;
+    };
+
+    private static final class SettablePriceFeed implements PriceFeed {
+        private volatile int price;
+
+        public PartitionFeed partition(int partition) {
+            return _ -> price;
+        }
+    }
+
+    private static final class RecordingConsumer implements FlightBatchConsumer {
+        private final Map<Integer, Integer> prices = new ConcurrentHashMap<>();
+        private final LongAdder received = new LongAdder();
+        private final List<Integer> receivedPrices = new CopyOnWriteArrayList<>();
+        private final Runnable afterBatch;
+
+        private RecordingConsumer() {
+            this(() -> {});
+        }
+
+        private RecordingConsumer(Runnable afterBatch) {
+            this.afterBatch = afterBatch;
+        }
+
+        public void updateFlights(PriceBatch batch) {
+            for (int index = 0; index < batch.size(); index++) {
+                prices.put(batch.handle(index), batch.price(index));
+                receivedPrices.add(batch.price(index));
+            }
+            received.add(batch.size());
+            afterBatch.run();
+        }
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<PriceTick> {
+        private final List<PriceTick> ticks = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+        private final long demand;
+
+        private RecordingSubscriber(int expectedTicks, long demand) {
+            this.received = new CountDownLatch(expectedTicks);
+            this.demand = demand;
+        }
+
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (demand > 0) {
+                subscription.request(demand);
+            }
+        }
+
+        public void onNext(PriceTick tick) {
+            ticks.add(tick);
+            received.countDown();
+        }
+
+        public void onError(Throwable throwable) {
+        }
+
+        public void onComplete() {
+        }
+    }
+
+    @Test
+    public void should_publish_one_signal_per_tick() throws InterruptedException {
+        var registry = registry("OneSignal");
+        var subscriber = new RecordingSubscriber(5, Long.MAX_VALUE);
+        try (var publisher = new SubmissionPublisher<PriceTick>();
+             var fanOut = new PriceFanOut(registry, 4, CHANGING_PRICES, publisher)) {
+            publisher.subscribe(subscriber);
+            for (int tick = 0; tick < 5; tick++) {
+                tickAndWait(fanOut);
+            }
+            assertThat(subscriber.received.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(subscriber.ticks).containsExactly(
+                new PriceTick(1, FLIGHTS), new PriceTick(2, FLIGHTS), new PriceTick(3, FLIGHTS),
+                new PriceTick(4, FLIGHTS), new PriceTick(5, FLIGHTS));
+    }
+
+    @Test
+    public void should_drop_signals_instead_of_blocking_on_a_slow_subscriber() {
+        var registry = registry("SlowDisplay");
+        var subscriber = new RecordingSubscriber(0, 0);
+        try (var publisher = new SubmissionPublisher<PriceTick>(ForkJoinPool.commonPool(), 2);
+             var fanOut = new PriceFanOut(registry, 4, CHANGING_PRICES, publisher)) {
+            publisher.subscribe(subscriber);
+            for (int tick = 0; tick < 20; tick++) {
+                tickAndWait(fanOut);
+            }
+
+            assertThat(fanOut.completedTicks()).isEqualTo(20);
+            assertThat(fanOut.droppedTicks()).isGreaterThanOrEqualTo(18);
+        }
+        assertThat(subscriber.ticks).isEmpty();
+    }
+
+    @Test
+    public void should_suppress_unchanged_prices_per_flight_and_consumers() {
+        var feed = new SettablePriceFeed();
+        var consumer = new RecordingConsumer();
+        var registry = registry("Unchanged", consumer);
+        try (var publisher = new SubmissionPublisher<PriceTick>();
+             var fanOut = new PriceFanOut(registry, 4, feed, publisher)) {
+            feed.price = 100;
+            tickAndWait(fanOut);
+            tickAndWait(fanOut);
+            tickAndWait(fanOut);
+
+            assertThat(consumer.received.sum()).isEqualTo(FLIGHTS);
+            assertThat(fanOut.suppressedPrices()).isEqualTo(2 * FLIGHTS);
+
+            feed.price = 0;
+            tickAndWait(fanOut);
+
+            assertThat(consumer.received.sum()).isEqualTo(2 * FLIGHTS);
+            assertThat(consumer.prices).hasSize(FLIGHTS).allSatisfy((_, price) -> assertThat(price).isZero());
+
+            var newcomer = new RecordingConsumer();
+            registry.register(new SimpleFlightID("Unchanged0"), newcomer);
+            tickAndWait(fanOut);
+
+            assertThat(newcomer.received.sum()).isEqualTo(1);
+            assertThat(consumer.received.sum()).isEqualTo(2 * FLIGHTS + 1);
+            assertThat(fanOut.suppressedPrices()).isEqualTo(2 * FLIGHTS + FLIGHTS - 1);
+        }
+    }
+
+    @Test
+    public void should_conflate_prices_waiting_for_a_busy_consumer() {
+        var feed = new SettablePriceFeed();
+        var release = new CountDownLatch(1);
+        var consumer = new RecordingConsumer(() -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        var registry = registry("Busy", consumer);
+        try (var publisher = new SubmissionPublisher<PriceTick>();
+             var fanOut = new PriceFanOut(registry, 4, feed, publisher, ExecutionMode.VIRTUAL)) {
+            feed.price = 1;
+            fanOut.tick();
+            awaitReceived(consumer, FLIGHTS);
+            awaitIdlePartitions(fanOut);
+
+            feed.price = 2;
+            fanOut.tick();
+            awaitIdlePartitions(fanOut);
+            feed.price = 3;
+            fanOut.tick();
+            awaitIdlePartitions(fanOut);
+            assertThat(fanOut.conflatedPrices()).isEqualTo(FLIGHTS);
+            assertThat(fanOut.completedTicks()).isZero();
+
+            release.countDown();
+            awaitReceived(consumer, 2 * FLIGHTS);
+            awaitCompletedTicks(fanOut, 3);
+        }
+
+        assertThat(consumer.received.sum()).isEqualTo(2 * FLIGHTS);
+        assertThat(consumer.receivedPrices).doesNotContain(2);
+        assertThat(consumer.prices).hasSize(FLIGHTS).allSatisfy((_, price) -> assertThat(price).isEqualTo(3));
+    }
+
+    @Test
+    public void should_publish_a_tick_once_the_handed_off_prices_are_dispatched() throws Exception {
+        var feed = new SettablePriceFeed();
+        var dispatched = new LongAdder();
+        var registry = registry("Late", batch -> {
+            LockSupport.parkNanos(20_000_000L);
+            dispatched.add(batch.size());
+        });
+        var dispatchedAtTick = new CopyOnWriteArrayList<Long>();
+        CompletableFuture<Void> consumed;
+        try (var publisher = new SubmissionPublisher<PriceTick>();
+             var fanOut = new PriceFanOut(registry, 4, feed, publisher, ExecutionMode.VIRTUAL)) {
+            consumed = publisher.consume(_ -> dispatchedAtTick.add(dispatched.sum()));
+            feed.price = 1;
+            tickAndWait(fanOut);
+            feed.price = 2;
+            tickAndWait(fanOut);
+        }
+
+        consumed.get(10, TimeUnit.SECONDS);
+        assertThat(dispatchedAtTick).hasSize(2);
+        assertThat(dispatchedAtTick.get(0)).isGreaterThanOrEqualTo(FLIGHTS);
+        assertThat(dispatchedAtTick.get(1)).isEqualTo(2 * FLIGHTS);
+    }
+
+    private static FlightConsumerRegistry registry(String prefix) {
+        return registry(prefix, _ -> {});
+    }
+
+    private static FlightConsumerRegistry registry(String prefix, FlightBatchConsumer consumer) {
+        var registry = new FlightConsumerRegistry(PARTITIONS);
+        for (int index = 0; index < FLIGHTS; index++) {
+            registry.register(new SimpleFlightID(prefix + index), consumer);
+        }
+        return registry;
+    }
+
+    private static void awaitReceived(RecordingConsumer consumer, int prices) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (consumer.received.sum() < prices && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(100_000L);
+        }
+        assertThat(consumer.received.sum()).isEqualTo(prices);
+    }
+
+    private static void awaitIdlePartitions(PriceFanOut fanOut) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (fanOut.busyPartitions() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(100_000L);
+        }
+        assertThat(fanOut.busyPartitions()).isZero();
+    }
+
+    private static void awaitCompletedTicks(PriceFanOut fanOut, long ticks) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (fanOut.completedTicks() < ticks && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(100_000L);
+        }
+        assertThat(fanOut.completedTicks()).isEqualTo(ticks);
+    }
+
+    private static void tickAndWait(PriceFanOut fanOut) {
+        var completedTicks = fanOut.completedTicks();
+        fanOut.tick();
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (fanOut.completedTicks() == completedTicks && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(100_000L);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.paumard.flightmonitoring.pricemonitoring.feed;
+
+import org.junit.jupiter.api.Test;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LatestPricesTest {
+
+    @Test
+    public void should_keep_the_latest_price_until_taken() {
+        var prices = new LatestPrices();
+        prices.put(3, 120);
+        prices.put(3, 95);
+
+        assertThat(prices.take(3)).isEqualTo(95);
+        assertThat(prices.take(3)).isEqualTo(PriceStore.NO_PRICE);
+    }
+
+    @Test
+    public void should_tell_a_zero_price_from_no_price() {
+        var prices = new LatestPrices();
+        prices.put(5, 0);
+
+        assertThat(prices.take(4)).isEqualTo(PriceStore.NO_PRICE);
+        assertThat(prices.take(5)).isZero();
+        assertThat(prices.take(5)).isEqualTo(PriceStore.NO_PRICE);
+    }
+
+    @Test
+    public void should_grow_across_chunks() {
+        var prices = new LatestPrices();
+        var farHandle = 3 * (1 << 16) + 7;
+
+        assertThat(prices.take(farHandle)).isEqualTo(PriceStore.NO_PRICE);
+        prices.put(farHandle, Integer.MAX_VALUE - 1);
+        assertThat(prices.take(farHandle)).isEqualTo(Integer.MAX_VALUE - 1);
+    }
+
+    @Test
+    public void should_reject_negative_prices() {
+        var prices = new LatestPrices();
+        assertThatThrownBy(() -> prices.put(1, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,124 @@
+package org.paumard.flightmonitoring.pricemonitoring.feed;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.model.MultilegFlightID;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PriceFeedTest {
+
+    @Test
+    public void should_replay_the_latest_price_of_each_flight(@TempDir Path directory) throws IOException {
+        var simpleFlight = new SimpleFlightID("Replay-S1");
+        var multilegFlight = new MultilegFlightID("Replay-M1");
+        var file = directory.resolve("prices.csv");
+        Files.write(file, List.of(
+                new PriceLine(1_000L, simpleFlight, 120).format(),
+                new PriceLine(1_010L, multilegFlight, 0).format(),
+                "",
+                new PriceLine(1_020L, simpleFlight, 95).format()), StandardCharsets.US_ASCII);
+
+        try (var feed = new ReplayPriceFeed(file, 0)) {
+            awaitUntil(feed::isDone);
+
+            assertThat(feed.replayedPrices()).isEqualTo(3);
+            var partition = feed.partition(0);
+            var simpleHandle = FlightHandles.instance().handleOf(simpleFlight);
+            var multilegHandle = FlightHandles.instance().handleOf(multilegFlight);
+            assertThat(partition.nextPrice(simpleHandle)).isEqualTo(95);
+            assertThat(partition.nextPrice(multilegHandle)).isZero();
+            assertThat(partition.nextPrice(simpleHandle)).isEqualTo(PriceStore.NO_PRICE);
+            assertThat(partition.nextPrice(multilegHandle)).isEqualTo(PriceStore.NO_PRICE);
+        }
+    }
+
+    @Test
+    public void should_stop_replaying_at_the_first_malformed_line(@TempDir Path directory) throws IOException {
+        var flight = new SimpleFlightID("Replay-S2");
+        var file = directory.resolve("prices.csv");
+        Files.write(file, List.of(
+                new PriceLine(1_000L, flight, 120).format(),
+                "1010,S:Replay-S2",
+                new PriceLine(1_020L, flight, 95).format()), StandardCharsets.US_ASCII);
+
+        try (var feed = new ReplayPriceFeed(file, 0)) {
+            awaitUntil(feed::isDone);
+
+            assertThat(feed.replayedPrices()).isEqualTo(1);
+            assertThat(feed.partition(0).nextPrice(FlightHandles.instance().handleOf(flight))).isEqualTo(120);
+        }
+    }
+
+    @Test
+    public void should_receive_prices_over_a_socket() throws IOException {
+        var flight = new SimpleFlightID("Socket-S1");
+        try (var feed = new SocketPriceFeed(0)) {
+            try (var channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), feed.port()));
+                 var writer = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.US_ASCII)) {
+                writer.write(new PriceLine(1_000L, flight, 120).format() + "\n");
+                writer.write("not a price line\n");
+                writer.write(new PriceLine(1_010L, flight, 95).format() + "\n");
+            }
+            awaitUntil(() -> feed.receivedPrices() + feed.rejectedLines() == 3);
+
+            assertThat(feed.receivedPrices()).isEqualTo(2);
+            assertThat(feed.rejectedLines()).isEqualTo(1);
+            var partition = feed.partition(0);
+            var handle = FlightHandles.instance().handleOf(flight);
+            assertThat(partition.nextPrice(handle)).isEqualTo(95);
+            assertThat(partition.nextPrice(handle)).isEqualTo(PriceStore.NO_PRICE);
+        }
+    }
+
+    @Test
+    public void should_close_every_accepted_connection() throws IOException {
+        var flight = new SimpleFlightID("Close-S1");
+        var channels = new ArrayList<SocketChannel>();
+        try {
+            try (var feed = new SocketPriceFeed(0)) {
+                for (int index = 0; index < 4; index++) {
+                    var channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), feed.port()));
+                    channels.add(channel);
+                    channel.write(StandardCharsets.US_ASCII.encode(new PriceLine(1_000L + index, flight, 100 + index).format() + "\n"));
+                }
+                awaitUntil(() -> feed.receivedPrices() == 4);
+            }
+
+            for (var channel : channels) {
+                channel.socket().setSoTimeout(10_000);
+                assertThat(channel.socket().getInputStream().read()).isEqualTo(-1);
+            }
+        } finally {
+            for (var channel : channels) {
+                channel.close();
+            }
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,43 @@
+package org.paumard.flightmonitoring.pricemonitoring.feed;
+
+import org.junit.jupiter.api.Test;
+import org.paumard.flightmonitoring.business.model.MultilegFlightID;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PriceLineTest {
+
+    @Test
+    public void should_parse_simple_and_multileg_flights() {
+        assertThat(PriceLine.parse("1700000000000,S:AF123,95"))
+                .isEqualTo(new PriceLine(1_700_000_000_000L, new SimpleFlightID("AF123"), 95));
+        assertThat(PriceLine.parse("42,M:LH456,0"))
+                .isEqualTo(new PriceLine(42L, new MultilegFlightID("LH456"), 0));
+    }
+
+    @Test
+    public void should_parse_what_it_formats() {
+        var simple = new PriceLine(1_700_000_000_000L, new SimpleFlightID("AF123"), 95);
+        var multileg = new PriceLine(7L, new MultilegFlightID("LH456"), 1_250);
+
+        assertThat(simple.format()).isEqualTo("1700000000000,S:AF123,95");
+        assertThat(PriceLine.parse(simple.format())).isEqualTo(simple);
+        assertThat(PriceLine.parse(multileg.format())).isEqualTo(multileg);
+    }
+
+    @Test
+    public void should_reject_malformed_lines() {
+        assertThatThrownBy(() -> PriceLine.parse("1700000000000,S:AF123"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PriceLine.parse("now,S:AF123,95"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasCauseInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> PriceLine.parse("1700000000000,S:AF123,cheap"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PriceLine.parse("1700000000000,X:AF123,95"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("X:AF123");
+    }
+}
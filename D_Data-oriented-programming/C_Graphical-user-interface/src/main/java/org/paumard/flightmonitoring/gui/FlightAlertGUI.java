@@ -0,0 +1,35 @@
+package org.paumard.flightmonitoring.gui;
+
+import org.paumard.flightmonitoring.business.alert.PriceAlert;
+import org.paumard.flightmonitoring.business.model.MultilegFlightID;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+import org.paumard.flightmonitoring.business.service.FlightAlertService;
+
+import java.io.PrintStream;
+
+public class FlightAlertGUI implements FlightAlertService {
+
+    private final PrintStream out;
+
+    public FlightAlertGUI() {
+        this(System.out);
+    }
+
+    public FlightAlertGUI(PrintStream out) {
+        this.out = out;
+    }
+
+    public void alert(PriceAlert alert) {
+        var watch = alert.watch();
+        var flight = switch (watch.flightID()) {
+            case SimpleFlightID(String id) -> id;
+            case MultilegFlightID(String id) -> id;
+        };
+        var crossed = switch (watch.direction()) {
+            case BELOW -> " dropped below ";
+            case ABOVE -> " rose above ";
+        };
+        out.println("Alert: flight " + flight + crossed + watch.threshold() +
+                    ": price went from " + alert.previousPrice().price() + " to " + alert.price().price());
+    }
+}
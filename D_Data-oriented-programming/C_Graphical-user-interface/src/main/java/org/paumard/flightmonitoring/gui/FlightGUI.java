@@ -2,20 +2,163 @@ package org.paumard.flightmonitoring.gui;
 
 import org.paumard.flightmonitoring.business.model.Flight;
 import org.paumard.flightmonitoring.business.model.MultilegFlight;
+import org.paumard.flightmonitoring.business.model.Price;
 import org.paumard.flightmonitoring.business.model.SimpleFlight;
 import org.paumard.flightmonitoring.business.service.FlightGUIService;
 
-public class FlightGUI implements FlightGUIService {
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
-    public void displayFlight(Flight flight) {
+public final class FlightGUI implements FlightGUIService {
+
+    private static final int INITIAL_FRAME_CAPACITY = 1 << 16;
+    private static final int SPARE_FRAMES = 2;
+
+    private final WritableByteChannel sink;
+    private final StringBuilder frame = new StringBuilder(INITIAL_FRAME_CAPACITY);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final AtomicReference<ByteBuffer> pendingFrame = new AtomicReference<>();
+    private final BlockingQueue<ByteBuffer> spareFrames = new ArrayBlockingQueue<>(SPARE_FRAMES);
+    private final LongAdder writtenFrames = new LongAdder();
+    private final LongAdder droppedFrames = new LongAdder();
+    private final AtomicBoolean failedWrite = new AtomicBoolean();
+    private final Thread writer;
+
+    private ByteBuffer frameBuffer = ByteBuffer.allocateDirect(INITIAL_FRAME_CAPACITY);
+    private boolean frameOpen;
+    private volatile boolean closed;
+
+    public FlightGUI() {
+        this(new FileOutputStream(FileDescriptor.out).getChannel());
+    }
+
+    public FlightGUI(WritableByteChannel sink) {
+        this.sink = sink;
+        this.writer = Thread.ofPlatform().name("flight-gui-writer").daemon().start(this::writeFrames);
+    }
+
+    public void beginFrame() {
+        frame.setLength(0);
+        frameOpen = true;
+    }
+
+    public void displayFlight(Flight flight, Price price) {
+        if (!frameOpen) {
+            beginFrame();
+            appendFlight(flight, price);
+            endFrame();
+        } else {
+            appendFlight(flight, price);
+        }
+    }
+
+    public boolean endFrame() {
+        frameOpen = false;
+        if (frame.isEmpty()) {
+            return false;
+        }
+        encodeFrame();
+        var dropped = pendingFrame.getAndSet(frameBuffer);
+        if (dropped != null) {
+            droppedFrames.increment();
+            frameBuffer = dropped.clear();
+        } else {
+            var spare = spareFrames.poll();
+            frameBuffer = spare != null && spare.capacity() >= frameBuffer.capacity() ?
+                    spare : ByteBuffer.allocateDirect(frameBuffer.capacity());
+        }
+        LockSupport.unpark(writer);
+        return dropped != null || failedWrite.getAndSet(false);
+    }
+
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long writtenFrames() {
+        return writtenFrames.sum();
+    }
+
+    public long droppedFrames() {
+        return droppedFrames.sum();
+    }
+
+    private void appendFlight(Flight flight, Price price) {
         switch (flight) {
-            case SimpleFlight simpleFlight -> System.out.println(
-                    "Flight from " + simpleFlight.from().name() + " to " + simpleFlight.to().name() +
-                    ": price is now " + SimpleFlight.price(simpleFlight).price());
-            case MultilegFlight multilegFlight -> System.out.println(
-                    "Flight from " + multilegFlight.from().name() + " to " + multilegFlight.to().name() +
-                    " via " + multilegFlight.via().name() +
-                    ": price is now " + MultilegFlight.price(multilegFlight).price());
+            case SimpleFlight simpleFlight -> frame
+                    .append("Flight from ").append(simpleFlight.from().name())
+                    .append(" to ").append(simpleFlight.to().name())
+                    .append(": price is now ").append(price.price()).append('\n');
+            case MultilegFlight multilegFlight -> {
+                frame.append("Flight from ").append(multilegFlight.from().name())
+                        .append(" to ").append(multilegFlight.to().name())
+                        .append(" via ").append(multilegFlight.via(0).name());
+                for (int index = 1; index < multilegFlight.viaCount(); index++) {
+                    frame.append(", ").append(multilegFlight.via(index).name());
+                }
+                frame.append(": price is now ").append(price.price()).append('\n');
+            }
+        }
+    }
+
+    private void encodeFrame() {
+        while (true) {
+            frameBuffer.clear();
+            encoder.reset();
+            var result = encoder.encode(CharBuffer.wrap(frame), frameBuffer, true);
+            if (result == CoderResult.UNDERFLOW) {
+                result = encoder.flush(frameBuffer);
+            }
+            if (result == CoderResult.UNDERFLOW) {
+                frameBuffer.flip();
+                return;
+            }
+            frameBuffer = ByteBuffer.allocateDirect(frameBuffer.capacity() * 2);
+        }
+    }
+
+    private void writeFrames() {
+        while (true) {
+            var frame = pendingFrame.getAndSet(null);
+            if (frame == null) {
+                if (closed) {
+                    if (pendingFrame.get() == null) {
+                        return;
+                    }
+                    continue;
+                }
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                while (frame.hasRemaining()) {
+                    sink.write(frame);
+                }
+                writtenFrames.increment();
+            } catch (IOException e) {
+                droppedFrames.increment();
+                failedWrite.set(true);
+            }
+            spareFrames.offer(frame.clear());
         }
     }
 }
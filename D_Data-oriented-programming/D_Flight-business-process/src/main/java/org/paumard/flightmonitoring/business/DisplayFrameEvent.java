@@ -0,0 +1,20 @@
+package org.paumard.flightmonitoring.business;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.paumard.flightmonitoring.DisplayFrame")
+@Label("Display Frame")
+@Category({"Flight Monitoring", "Display"})
+@Description("One frame of changed flights sent to the graphical user interface")
+final class DisplayFrameEvent extends Event {
+
+    @Label("Simple Flights")
+    int simpleFlights;
+
+    @Label("Multileg Flights")
+    int multilegFlights;
+}
@@ -1,53 +1,236 @@
 package org.paumard.flightmonitoring.business;
 
+import org.paumard.flightmonitoring.business.alert.PriceAlerts;
+import org.paumard.flightmonitoring.business.alert.PriceWatch;
+import org.paumard.flightmonitoring.business.metrics.Counter;
+import org.paumard.flightmonitoring.business.metrics.LatencyHistogram;
+import org.paumard.flightmonitoring.business.metrics.Metrics;
 import org.paumard.flightmonitoring.business.model.*;
+import org.paumard.flightmonitoring.business.ranking.CheapestFlights;
+import org.paumard.flightmonitoring.business.ranking.RankedFlight;
 import org.paumard.flightmonitoring.business.service.DBService;
-import org.paumard.flightmonitoring.business.service.FlightConsumer;
+import org.paumard.flightmonitoring.business.service.FlightAlertService;
+import org.paumard.flightmonitoring.business.service.FlightBatchConsumer;
 import org.paumard.flightmonitoring.business.service.FlightGUIService;
+import org.paumard.flightmonitoring.business.service.PriceBatch;
 import org.paumard.flightmonitoring.business.service.PriceMonitoringService;
+import org.paumard.flightmonitoring.business.service.PriceTick;
 
-import java.util.Map;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.ReentrantLock;
 
-public class FlightMonitoring {
+public class FlightMonitoring implements AutoCloseable {
 
-    private static final Map<FlightID, Flight> monitoredFlights = new ConcurrentHashMap<>();
+    private static final Counter DISPLAYED_FLIGHTS = Metrics.instance().counter("display.flights");
+    private static final LatencyHistogram FRAME_LATENCY = Metrics.instance().histogram("display.frame.latency");
+    private static final int TOP_FLIGHTS = 10;
 
     private final DBService dbService;
     private final PriceMonitoringService priceMonitoringService;
     private final FlightGUIService flightGUIService;
+    private final PriceAlerts priceAlerts;
+    private final LastPrices lastPrices = new LastPrices();
+    private final CheapestFlights cheapestFlights = new CheapestFlights(TOP_FLIGHTS, lastPrices::price);
+    private final ChangedFlights changedFlights = new ChangedFlights();
+    private final MonitoredFlights monitoredFlights = new MonitoredFlights();
+    private final FlightBatchConsumer priceUpdater = this::updatePrices;
+    private final Set<FlightID> followedFlights = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock display = new ReentrantLock();
+
+    private DisplaySubscriber displaySubscriber;
+    private boolean fullFrameNeeded;
+    private boolean closed;
 
     public FlightMonitoring(DBService dbService, FlightGUIService guiService, PriceMonitoringService monitoringService) {
+        this(dbService, guiService, monitoringService, _ -> {});
+    }
+
+    public FlightMonitoring(DBService dbService, FlightGUIService guiService, PriceMonitoringService monitoringService,
+                            FlightAlertService alertService) {
         this.dbService = dbService;
         this.flightGUIService = guiService;
         this.priceMonitoringService = monitoringService;
+        this.priceAlerts = new PriceAlerts(alertService);
     }
 
     public void followFlight(FlightID flightID) {
-        var flight = dbService.fetchFlight(flightID);
-        FlightConsumer flightConsumer = price -> {
-            switch(flight) {
-                case SimpleFlight(SimpleFlightID id, City _, City _) -> SimpleFlight.updatePrice(id, price);
-                case MultilegFlight(MultilegFlightID id, City _, City _, City _) -> MultilegFlight.updatePrice(id, price);
-            }
-        };
-        priceMonitoringService.followPrice(flightID, flightConsumer);
+        followFlights(List.of(flightID));
+    }
+
+    public void followFlights(Collection<? extends FlightID> flightIDs) {
+        followedFlights.addAll(flightIDs);
+        priceMonitoringService.followPrices(flightIDs, priceUpdater);
     }
 
     public void monitorFlight(FlightID flightID) {
         var flight = dbService.fetchFlight(flightID);
-        monitoredFlights.put(flightID, flight);
+        monitor(new int[]{FlightHandles.instance().handleOf(flightID)}, List.of(flight));
+    }
+
+    public void monitorFlights(Collection<? extends FlightID> flightIDs) {
+        var flights = dbService.fetchFlights(flightIDs);
+        var flightHandles = FlightHandles.instance();
+        var handles = new int[flights.size()];
+        var index = 0;
+        for (var flightID : flightIDs) {
+            handles[index++] = flightHandles.handleOf(flightID);
+        }
+        monitor(handles, flights);
+    }
+
+    public List<RankedFlight> cheapestFlights(City from, City to) {
+        return cheapestFlights.cheapest(from, to);
+    }
+
+    public List<RankedFlight> cheapestRoutes(City from, City to, int maxLegs) {
+        return dbService.cheapestRoutes(from, to, TOP_FLIGHTS, maxLegs);
+    }
+
+    public PriceWatch watchPrice(PriceWatch watch) {
+        if (!followedFlights.contains(watch.flightID())) {
+            throw new IllegalArgumentException("Cannot watch the price of a flight that is not followed: " + watch.flightID());
+        }
+        return priceAlerts.watch(watch);
+    }
+
+    public boolean unwatchPrice(PriceWatch watch) {
+        return priceAlerts.unwatch(watch);
+    }
+
+    public synchronized void launchDisplay() {
+        if (closed) {
+            throw new IllegalStateException("The flight monitoring is closed");
+        }
+        if (displaySubscriber == null) {
+            displaySubscriber = new DisplaySubscriber();
+            priceMonitoringService.priceUpdates().subscribe(displaySubscriber);
+        }
+    }
+
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        priceMonitoringService.unfollowPrices(List.copyOf(followedFlights), priceUpdater);
+        followedFlights.clear();
+        if (displaySubscriber != null) {
+            displaySubscriber.cancel();
+            displayChangedFlights();
+        }
+    }
+
+    private final class DisplaySubscriber implements Flow.Subscriber<PriceTick> {
+
+        private volatile Flow.Subscription subscription;
+        private volatile boolean cancelled;
+
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+                return;
+            }
+            displayChangedFlights();
+            subscription.request(1);
+        }
+
+        public void onNext(PriceTick tick) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                displayChangedFlights();
+            } finally {
+                subscription.request(1);
+            }
+        }
+
+        public void onError(Throwable throwable) {
+            System.out.println("Price updates failed: " + throwable.getMessage());
+        }
+
+        public void onComplete() {
+            displayChangedFlights();
+        }
+
+        private void cancel() {
+            cancelled = true;
+            var subscription = this.subscription;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    private void displayChangedFlights() {
+        var priceStore = PriceStore.instance();
+        display.lock();
+        try {
+            if (fullFrameNeeded) {
+                fullFrameNeeded = false;
+                monitoredFlights.forEach(changedFlights::mark);
+            }
+            var event = new DisplayFrameEvent();
+            var countFlights = event.isEnabled();
+            event.begin();
+            var start = System.nanoTime();
+            flightGUIService.beginFrame();
+            try {
+                changedFlights.drain(handle -> {
+                    var flight = monitoredFlights.flight(handle);
+                    if (flight != null) {
+                        var price = priceStore.price(handle);
+                        if (price != PriceStore.NO_PRICE) {
+                            flightGUIService.displayFlight(flight, new Price(price));
+                            DISPLAYED_FLIGHTS.increment();
+                            if (countFlights) {
+                                switch (flight) {
+                                    case SimpleFlight _ -> event.simpleFlights++;
+                                    case MultilegFlight _ -> event.multilegFlights++;
+                                }
+                            }
+                        }
+                    }
+                });
+            } finally {
+                fullFrameNeeded = flightGUIService.endFrame();
+                FRAME_LATENCY.recordSince(start);
+                event.commit();
+            }
+        } finally {
+            display.unlock();
+        }
+    }
+
+    private synchronized void monitor(int[] handles, List<Flight> flights) {
+        monitoredFlights.add(handles, flights);
+        cheapestFlights.add(handles, flights);
+
+        for (var handle : handles) {
+            changedFlights.mark(handle);
+        }
     }
 
-    public void launchDisplay() {
-        var executor = Executors.newScheduledThreadPool(1);
-        Runnable task = () -> {
-            for (var flight : monitoredFlights.values()) {
-                flightGUIService.displayFlight(flight);
+    private void updatePrices(PriceBatch batch) {
+        var priceStore = PriceStore.instance();
+        for (int index = 0; index < batch.size(); index++) {
+            var handle = batch.handle(index);
+            var price = batch.price(index);
+            var previousPrice = lastPrices.getAndUpdatePrice(handle, price);
+            priceStore.updatePrice(handle, price);
+            priceAlerts.priceChanged(handle, previousPrice, price);
+            cheapestFlights.priceChanged(handle, previousPrice, price);
+            if (monitoredFlights.flight(handle) != null) {
+                changedFlights.mark(handle);
             }
-        };
-        executor.scheduleAtFixedRate(task, 0, 500, TimeUnit.MILLISECONDS);
+        }
+        dbService.updatePrices(batch);
     }
 }
\ No newline at end of file
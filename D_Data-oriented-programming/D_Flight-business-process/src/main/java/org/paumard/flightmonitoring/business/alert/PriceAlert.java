@@ -0,0 +1,5 @@
+package org.paumard.flightmonitoring.business.alert;
+
+import org.paumard.flightmonitoring.business.model.Price;
+
+public record PriceAlert(PriceWatch watch, Price previousPrice, Price price) {}
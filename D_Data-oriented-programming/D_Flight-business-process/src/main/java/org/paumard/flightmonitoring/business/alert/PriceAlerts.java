@@ -0,0 +1,181 @@
+package org.paumard.flightmonitoring.business.alert;
+
+import org.paumard.flightmonitoring.business.metrics.Counter;
+import org.paumard.flightmonitoring.business.metrics.Metrics;
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.model.Price;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+import org.paumard.flightmonitoring.business.service.FlightAlertService;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public final class PriceAlerts {
+
+    private static final Counter RAISED_ALERTS = Metrics.instance().counter("price.alerts");
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private record Thresholds(int[] below, int[] above) {
+
+        private static final Thresholds NONE = new Thresholds(new int[0], new int[0]);
+
+        private int[] thresholds(PriceWatch.Direction direction) {
+            return switch (direction) {
+                case BELOW -> below;
+                case ABOVE -> above;
+            };
+        }
+
+        private Thresholds with(PriceWatch.Direction direction, int[] thresholds) {
+            return switch (direction) {
+                case BELOW -> new Thresholds(thresholds, above);
+                case ABOVE -> new Thresholds(below, thresholds);
+            };
+        }
+
+        private boolean isEmpty() {
+            return below.length == 0 && above.length == 0;
+        }
+    }
+
+    private final FlightAlertService alertService;
+    private volatile AtomicReferenceArray<Thresholds>[] chunks = newChunks(0);
+    private int watchCount;
+
+    public PriceAlerts(FlightAlertService alertService) {
+        this.alertService = alertService;
+    }
+
+    public synchronized PriceWatch watch(PriceWatch watch) {
+        var handle = FlightHandles.instance().handleOf(watch.flightID());
+        var chunk = chunk(handle);
+        var current = chunk.get(handle & CHUNK_MASK);
+        current = current == null ? Thresholds.NONE : current;
+        var thresholds = current.thresholds(watch.direction());
+        var index = insertionPoint(thresholds, watch.threshold());
+        var updated = new int[thresholds.length + 1];
+        System.arraycopy(thresholds, 0, updated, 0, index);
+        updated[index] = watch.threshold();
+        System.arraycopy(thresholds, index, updated, index + 1, thresholds.length - index);
+        chunk.set(handle & CHUNK_MASK, current.with(watch.direction(), updated));
+        watchCount++;
+        return watch;
+    }
+
+    public synchronized boolean unwatch(PriceWatch watch) {
+        var handle = FlightHandles.instance().find(watch.flightID());
+        var chunks = this.chunks;
+        if (handle == FlightHandles.NO_HANDLE || handle >>> CHUNK_SHIFT >= chunks.length) {
+            return false;
+        }
+        var chunk = chunks[handle >>> CHUNK_SHIFT];
+        var current = chunk.get(handle & CHUNK_MASK);
+        if (current == null) {
+            return false;
+        }
+        var thresholds = current.thresholds(watch.direction());
+        var index = Arrays.binarySearch(thresholds, watch.threshold());
+        if (index < 0) {
+            return false;
+        }
+        var updated = new int[thresholds.length - 1];
+        System.arraycopy(thresholds, 0, updated, 0, index);
+        System.arraycopy(thresholds, index + 1, updated, index, updated.length - index);
+        var next = current.with(watch.direction(), updated);
+        chunk.set(handle & CHUNK_MASK, next.isEmpty() ? null : next);
+        watchCount--;
+        return true;
+    }
+
+    public synchronized int size() {
+        return watchCount;
+    }
+
+    public void priceChanged(int handle, int previousPrice, int price) {
+        if (previousPrice == PriceStore.NO_PRICE || previousPrice == price) {
+            return;
+        }
+        var chunks = this.chunks;
+        if (handle >>> CHUNK_SHIFT >= chunks.length) {
+            return;
+        }
+        var current = chunks[handle >>> CHUNK_SHIFT].get(handle & CHUNK_MASK);
+        if (current == null) {
+            return;
+        }
+        if (price < previousPrice) {
+            var below = current.below();
+            var from = insertionPoint(below, price);
+            var to = insertionPoint(below, previousPrice);
+            alert(handle, PriceWatch.Direction.BELOW, below, from, to, previousPrice, price);
+        } else {
+            var above = current.above();
+            var from = firstAtLeast(above, previousPrice);
+            var to = firstAtLeast(above, price);
+            alert(handle, PriceWatch.Direction.ABOVE, above, from, to, previousPrice, price);
+        }
+    }
+
+    private void alert(int handle, PriceWatch.Direction direction, int[] thresholds, int from, int to,
+                       int previousPrice, int price) {
+        if (from == to) {
+            return;
+        }
+        var flightID = FlightHandles.instance().flightID(handle);
+        for (int index = from; index < to; index++) {
+            alertService.alert(new PriceAlert(
+                    new PriceWatch(flightID, direction, thresholds[index]), new Price(previousPrice), new Price(price)));
+        }
+        RAISED_ALERTS.add(to - from);
+    }
+
+    private static int insertionPoint(int[] thresholds, int value) {
+        var low = 0;
+        var high = thresholds.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (thresholds[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int firstAtLeast(int[] thresholds, int value) {
+        var low = 0;
+        var high = thresholds.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (thresholds[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private AtomicReferenceArray<Thresholds> chunk(int handle) {
+        var chunks = this.chunks;
+        var chunk = handle >>> CHUNK_SHIFT;
+        if (chunk >= chunks.length) {
+            var grown = Arrays.copyOf(chunks, chunk + 1);
+            for (int index = chunks.length; index < grown.length; index++) {
+                grown[index] = new AtomicReferenceArray<>(CHUNK_SIZE);
+            }
+            this.chunks = grown;
+            chunks = grown;
+        }
+        return chunks[chunk];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AtomicReferenceArray<Thresholds>[] newChunks(int length) {
+        return (AtomicReferenceArray<Thresholds>[]) new AtomicReferenceArray<?>[length];
+    }
+}
@@ -0,0 +1,20 @@
+package org.paumard.flightmonitoring.business.alert;
+
+import org.paumard.flightmonitoring.business.model.FlightID;
+
+import java.util.Objects;
+
+public record PriceWatch(FlightID flightID, Direction direction, int threshold) {
+
+    public enum Direction {
+        BELOW, ABOVE
+    }
+
+    public PriceWatch {
+        Objects.requireNonNull(flightID);
+        Objects.requireNonNull(direction);
+        if (threshold < 0) {
+            throw new IllegalArgumentException("The threshold should not be negative: " + threshold);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+package org.paumard.flightmonitoring.business.metrics;
+
+public record HistogramSnapshot(String name, long count, long p50, long p90, long p99, long p999, long max) {}
@@ -0,0 +1,84 @@
+package org.paumard.flightmonitoring.business.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final int stripeMask;
+    private final AtomicLongArray counts;
+
+    LatencyHistogram() {
+        var stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1) << 1);
+        this.stripeMask = stripes - 1;
+        this.counts = new AtomicLongArray(stripes * BUCKETS);
+    }
+
+    public void recordNanos(long nanos) {
+        var stripe = (int) (Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L >>> 40) & stripeMask;
+        counts.getAndIncrement(stripe * BUCKETS + bucket(Math.max(0L, nanos)));
+    }
+
+    public long recordSince(long startNanos) {
+        var now = System.nanoTime();
+        recordNanos(now - startNanos);
+        return now;
+    }
+
+    public HistogramSnapshot snapshot(String name) {
+        var merged = new long[BUCKETS];
+        var count = 0L;
+        for (int index = 0; index < counts.length(); index++) {
+            var value = counts.get(index);
+            merged[index % BUCKETS] += value;
+            count += value;
+        }
+        var max = 0L;
+        for (int bucket = BUCKETS - 1; bucket >= 0; bucket--) {
+            if (merged[bucket] != 0L) {
+                max = upperBound(bucket);
+                break;
+            }
+        }
+        return new HistogramSnapshot(name, count,
+                percentile(merged, count, 0.50), percentile(merged, count, 0.90),
+                percentile(merged, count, 0.99), percentile(merged, count, 0.999), max);
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        var exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        var subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        var exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        var subBucket = bucket % SUB_BUCKETS;
+        var shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    private static long percentile(long[] merged, long count, double percentile) {
+        if (count == 0L) {
+            return 0L;
+        }
+        var rank = (long) Math.ceil(percentile * count);
+        var seen = 0L;
+        for (int bucket = 0; bucket < merged.length; bucket++) {
+            seen += merged[bucket];
+            if (seen >= rank) {
+                return upperBound(bucket);
+            }
+        }
+        return upperBound(merged.length - 1);
+    }
+}
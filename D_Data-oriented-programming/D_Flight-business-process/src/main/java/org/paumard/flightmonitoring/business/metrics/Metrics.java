@@ -0,0 +1,72 @@
+package org.paumard.flightmonitoring.business.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Metrics implements MetricsMXBean {
+
+    public static final String OBJECT_NAME = "org.paumard.flightmonitoring:type=Metrics";
+
+    private static final Metrics INSTANCE = new Metrics();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public static Metrics instance() {
+        return INSTANCE;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, _ -> new Counter());
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, _ -> new LatencyHistogram());
+    }
+
+    public synchronized void registerMBean() {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            var objectName = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register the metrics MBean", e);
+        }
+    }
+
+    public Map<String, Long> getCounters() {
+        var sums = new TreeMap<String, Long>();
+        counters.forEach((name, counter) -> sums.put(name, counter.sum()));
+        return sums;
+    }
+
+    public List<HistogramSnapshot> getHistograms() {
+        return new TreeMap<>(histograms).entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .toList();
+    }
+
+    public String getSnapshot() {
+        var snapshot = new StringBuilder();
+        getCounters().forEach((name, sum) ->
+                snapshot.append(name).append(' ').append(sum).append('\n'));
+        for (var histogram : getHistograms()) {
+            snapshot.append(histogram.name())
+                    .append(" count=").append(histogram.count())
+                    .append(" p50=").append(histogram.p50())
+                    .append("ns p90=").append(histogram.p90())
+                    .append("ns p99=").append(histogram.p99())
+                    .append("ns p999=").append(histogram.p999())
+                    .append("ns max=").append(histogram.max())
+                    .append("ns\n");
+        }
+        return snapshot.toString();
+    }
+}
@@ -0,0 +1,10 @@
+package org.paumard.flightmonitoring.business.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+public interface MetricsMXBean {
+    Map<String, Long> getCounters();
+    List<HistogramSnapshot> getHistograms();
+    String getSnapshot();
+}
@@ -0,0 +1,53 @@
+package org.paumard.flightmonitoring.business.metrics;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public final class MetricsReporter implements AutoCloseable {
+
+    private final Metrics metrics;
+    private final PrintStream out;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final ScheduledFuture<?> reports;
+
+    public MetricsReporter(Metrics metrics, PrintStream out, Duration period) {
+        this(metrics, out, period, null);
+    }
+
+    public MetricsReporter(Metrics metrics, PrintStream out, Duration period, ScheduledExecutorService scheduler) {
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("The report period should be positive: " + period);
+        }
+        this.metrics = metrics;
+        this.out = out;
+        this.ownsScheduler = scheduler == null;
+        this.scheduler = ownsScheduler ? Executors.newSingleThreadScheduledExecutor() : scheduler;
+        this.reports = this.scheduler.scheduleAtFixedRate(
+                this::scheduledReport, period.toNanos(), period.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public void report() {
+        out.print("Metrics at " + Instant.now() + "\n" + metrics.getSnapshot());
+    }
+
+    private void scheduledReport() {
+        try {
+            report();
+        } catch (RuntimeException e) {
+            System.out.println("Metrics report failed: " + e);
+        }
+    }
+
+    public void close() {
+        reports.cancel(false);
+        if (ownsScheduler) {
+            scheduler.close();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.paumard.flightmonitoring.business.model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+public final class ChangedFlights {
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+
+    public void mark(int handle) {
+        var changed = chunk(handle);
+        var word = (handle & CHUNK_MASK) >>> 6;
+        var bit = 1L << handle;
+        var bits = changed.get(word);
+        while ((bits & bit) == 0L) {
+            var witness = changed.compareAndExchange(word, bits, bits | bit);
+            if (witness == bits) {
+                return;
+            }
+            bits = witness;
+        }
+    }
+
+    public void drain(IntConsumer action) {
+        var chunks = this.chunks;
+        for (int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+            var changed = chunks[chunkIndex];
+            for (int word = 0; word < changed.length(); word++) {
+                if (changed.get(word) == 0L) {
+                    continue;
+                }
+                var bits = changed.getAndSet(word, 0L);
+                var base = (chunkIndex << CHUNK_SHIFT) + (word << 6);
+                while (bits != 0L) {
+                    action.accept(base + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+    }
+
+    private AtomicLongArray chunk(int handle) {
+        var chunks = this.chunks;
+        var chunk = handle >>> CHUNK_SHIFT;
+        if (chunk < chunks.length) {
+            return chunks[chunk];
+        }
+        return grow(chunk);
+    }
+
+    private synchronized AtomicLongArray grow(int chunk) {
+        var chunks = this.chunks;
+        if (chunk >= chunks.length) {
+            var grown = Arrays.copyOf(chunks, chunk + 1);
+            for (int index = chunks.length; index < grown.length; index++) {
+                grown[index] = new AtomicLongArray(CHUNK_SIZE / Long.SIZE);
+            }
+            this.chunks = grown;
+            chunks = grown;
+        }
+        return chunks[chunk];
+    }
+}
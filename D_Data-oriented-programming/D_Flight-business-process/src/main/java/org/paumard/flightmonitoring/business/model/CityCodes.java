@@ -0,0 +1,58 @@
+package org.paumard.flightmonitoring.business.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class CityCodes {
+
+    public static final int MAX_CITIES = Stops.NO_CODE;
+
+    private static final CityCodes INSTANCE = new CityCodes();
+
+    private final Map<City, Integer> codes = new ConcurrentHashMap<>();
+    private volatile City[] cities = new City[64];
+    private int size;
+
+    public static CityCodes instance() {
+        return INSTANCE;
+    }
+
+    public int codeOf(City city) {
+        var code = codes.get(city);
+        return code != null ? code : intern(city);
+    }
+
+    public City city(int code) {
+        var cities = this.cities;
+        var city = code >= 0 && code < cities.length ? cities[code] : null;
+        if (city == null) {
+            throw new IllegalArgumentException("Unknown city code: " + code);
+        }
+        return city;
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    private synchronized int intern(City city) {
+        Objects.requireNonNull(city);
+        var code = codes.get(city);
+        if (code != null) {
+            return code;
+        }
+        if (size == MAX_CITIES) {
+            throw new IllegalStateException("Too many cities: " + MAX_CITIES);
+        }
+        var cities = this.cities;
+        if (size == cities.length) {
+            cities = Arrays.copyOf(cities, size * 2);
+        }
+        cities[size] = city;
+        this.cities = cities;
+        codes.put(city, size);
+        return size++;
+    }
+}
@@ -0,0 +1,60 @@
+package org.paumard.flightmonitoring.business.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class FlightHandles {
+
+    public static final int NO_HANDLE = -1;
+
+    private static final FlightHandles INSTANCE = new FlightHandles();
+
+    private final Map<FlightID, Integer> handles = new ConcurrentHashMap<>();
+    private volatile FlightID[] flightIDs = new FlightID[1024];
+    private int size;
+
+    public static FlightHandles instance() {
+        return INSTANCE;
+    }
+
+    public int handleOf(FlightID flightID) {
+        var handle = handles.get(flightID);
+        return handle != null ? handle : intern(flightID);
+    }
+
+    public int find(FlightID flightID) {
+        var handle = handles.get(flightID);
+        return handle != null ? handle : NO_HANDLE;
+    }
+
+    public FlightID flightID(int handle) {
+        var flightIDs = this.flightIDs;
+        var flightID = handle < flightIDs.length ? flightIDs[handle] : null;
+        if (flightID == null) {
+            throw new IllegalArgumentException("Unknown flight handle: " + handle);
+        }
+        return flightID;
+    }
+
+    public int size() {
+        return handles.size();
+    }
+
+    private synchronized int intern(FlightID flightID) {
+        Objects.requireNonNull(flightID);
+        var handle = handles.get(flightID);
+        if (handle != null) {
+            return handle;
+        }
+        var flightIDs = this.flightIDs;
+        if (size == flightIDs.length) {
+            flightIDs = Arrays.copyOf(flightIDs, size * 2);
+        }
+        flightIDs[size] = flightID;
+        this.flightIDs = flightIDs;
+        handles.put(flightID, size);
+        return size++;
+    }
+}
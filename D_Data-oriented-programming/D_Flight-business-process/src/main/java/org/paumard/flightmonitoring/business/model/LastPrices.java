@@ -0,0 +1,51 @@
+package org.paumard.flightmonitoring.business.model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public final class LastPrices {
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile AtomicIntegerArray[] chunks = new AtomicIntegerArray[0];
+
+    public int price(int handle) {
+        var chunks = this.chunks;
+        var chunk = handle >>> CHUNK_SHIFT;
+        if (chunk >= chunks.length) {
+            return PriceStore.NO_PRICE;
+        }
+        return chunks[chunk].get(handle & CHUNK_MASK) - 1;
+    }
+
+    public int getAndUpdatePrice(int handle, int price) {
+        if (price < 0) {
+            throw new IllegalArgumentException("Invalid price: " + price);
+        }
+        return chunk(handle).getAndSet(handle & CHUNK_MASK, price + 1) - 1;
+    }
+
+    private AtomicIntegerArray chunk(int handle) {
+        var chunks = this.chunks;
+        var chunk = handle >>> CHUNK_SHIFT;
+        if (chunk < chunks.length) {
+            return chunks[chunk];
+        }
+        return grow(chunk);
+    }
+
+    private synchronized AtomicIntegerArray grow(int chunk) {
+        var chunks = this.chunks;
+        if (chunk >= chunks.length) {
+            var grown = Arrays.copyOf(chunks, chunk + 1);
+            for (int index = chunks.length; index < grown.length; index++) {
+                grown[index] = new AtomicIntegerArray(CHUNK_SIZE);
+            }
+            this.chunks = grown;
+            chunks = grown;
+        }
+        return chunks[chunk];
+    }
+}
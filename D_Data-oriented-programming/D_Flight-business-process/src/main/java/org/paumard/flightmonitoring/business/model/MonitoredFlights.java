@@ -0,0 +1,63 @@
+package org.paumard.flightmonitoring.business.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+public final class MonitoredFlights {
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile Flight[][] chunks = new Flight[0][];
+    private volatile int[] handles = new int[16];
+    private volatile int size;
+
+    public Flight flight(int handle) {
+        var chunks = this.chunks;
+        var chunk = handle >>> CHUNK_SHIFT;
+        if (chunk >= chunks.length || chunks[chunk] == null) {
+            return null;
+        }
+        return chunks[chunk][handle & CHUNK_MASK];
+    }
+
+    public synchronized void add(int[] handles, List<Flight> flights) {
+        var chunks = this.chunks;
+        var monitoredHandles = this.handles;
+        var size = this.size;
+        for (int index = 0; index < handles.length; index++) {
+            var handle = handles[index];
+            var chunk = handle >>> CHUNK_SHIFT;
+            if (chunk >= chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunk + 1);
+            }
+            if (chunks[chunk] == null) {
+                chunks[chunk] = new Flight[CHUNK_SIZE];
+            }
+            if (chunks[chunk][handle & CHUNK_MASK] == null) {
+                if (size == monitoredHandles.length) {
+                    monitoredHandles = Arrays.copyOf(monitoredHandles, size * 2);
+                }
+                monitoredHandles[size++] = handle;
+            }
+            chunks[chunk][handle & CHUNK_MASK] = flights.get(index);
+        }
+        this.handles = monitoredHandles;
+        this.size = size;
+        this.chunks = chunks;
+    }
+
+    public void forEach(IntConsumer action) {
+        var size = this.size;
+        var handles = this.handles;
+        for (int index = 0; index < size; index++) {
+            action.accept(handles[index]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+}
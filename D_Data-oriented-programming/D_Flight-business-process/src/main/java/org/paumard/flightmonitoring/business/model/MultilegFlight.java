@@ -1,27 +1,56 @@
 package org.paumard.flightmonitoring.business.model;
 
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 
-public record MultilegFlight(MultilegFlightID id, City from, City via, City to)
+public record MultilegFlight(MultilegFlightID id, long stops, int lastStops)
         implements Flight {
 
     public MultilegFlight {
         Objects.requireNonNull(id);
-        Objects.requireNonNull(from);
-        Objects.requireNonNull(via);
-        Objects.requireNonNull(to);
+        if (Stops.size(stops, lastStops) < 3) {
+            throw new IllegalArgumentException("A multileg flight needs at least one stopover: " + Stops.toString(stops, lastStops));
+        }
     }
 
-    private static final Map<MultilegFlightID, Price> pricePerFlight =
-            new ConcurrentHashMap<>();
+    public MultilegFlight(MultilegFlightID id, short[] codes) {
+        this(id, Stops.head(codes), Stops.tail(codes));
+    }
+
+    public MultilegFlight(MultilegFlightID id, City... cities) {
+        this(id, Stops.of(cities));
+    }
+
+    public City from() {
+        return Stops.city(stops, lastStops, 0);
+    }
+
+    public City to() {
+        return Stops.city(stops, lastStops, Stops.size(stops, lastStops) - 1);
+    }
+
+    public int viaCount() {
+        return Stops.size(stops, lastStops) - 2;
+    }
+
+    public City via(int index) {
+        Objects.checkIndex(index, viaCount());
+        return Stops.city(stops, lastStops, index + 1);
+    }
+
+    public int legCount() {
+        return Stops.size(stops, lastStops) - 1;
+    }
 
     public static Price price(MultilegFlight flight) {
-        return pricePerFlight.get(flight.id());
+        return PriceStore.instance().price(flight.id());
     }
 
     public static void updatePrice(MultilegFlightID id, Price price) {
-        pricePerFlight.put(id, price);
+        PriceStore.instance().updatePrice(id, price);
+    }
+
+    @Override
+    public String toString() {
+        return "MultilegFlight[id=" + id + ", stops=" + Stops.toString(stops, lastStops) + "]";
     }
-}
\ No newline at end of file
+}
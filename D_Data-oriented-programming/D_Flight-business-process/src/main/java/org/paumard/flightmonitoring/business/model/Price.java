@@ -1,4 +1,10 @@
 package org.paumard.flightmonitoring.business.model;
 
 public record Price(int price) {
+
+    public Price {
+        if (price < 0) {
+            throw new IllegalArgumentException("A price cannot be negative: " + price);
+        }
+    }
 }
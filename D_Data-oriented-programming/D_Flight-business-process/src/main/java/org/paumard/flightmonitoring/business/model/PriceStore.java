@@ -0,0 +1,96 @@
+package org.paumard.flightmonitoring.business.model;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+public final class PriceStore {
+
+    public static final int NO_PRICE = -1;
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final VarHandle PRICE = ValueLayout.JAVA_INT.varHandle();
+
+    private static final PriceStore INSTANCE = new PriceStore();
+
+    private final Arena arena = Arena.ofAuto();
+    private volatile MemorySegment[] chunks = new MemorySegment[0];
+
+    public static PriceStore instance() {
+        return INSTANCE;
+    }
+
+    public int price(int handle) {
+        var chunks = this.chunks;
+        var chunk = handle >>> CHUNK_SHIFT;
+        if (chunk >= chunks.length) {
+            return NO_PRICE;
+        }
+        return (int) PRICE.getAcquire(chunks[chunk], offset(handle));
+    }
+
+    public Price price(FlightID flightID) {
+        var handle = FlightHandles.instance().find(flightID);
+        if (handle == FlightHandles.NO_HANDLE) {
+            return null;
+        }
+        var price = price(handle);
+        return price == NO_PRICE ? null : new Price(price);
+    }
+
+    public void updatePrice(int handle, int price) {
+        checkPrice(price);
+        PRICE.setRelease(chunk(handle), offset(handle), price);
+    }
+
+    public int getAndUpdatePrice(int handle, int price) {
+        checkPrice(price);
+        return (int) PRICE.getAndSet(chunk(handle), offset(handle), price);
+    }
+
+    public void updatePrice(FlightID flightID, Price price) {
+        updatePrice(FlightHandles.instance().handleOf(flightID), price.price());
+    }
+
+    public long byteSize() {
+        return (long) chunks.length * CHUNK_SIZE * ValueLayout.JAVA_INT.byteSize();
+    }
+
+    private MemorySegment chunk(int handle) {
+        var chunks = this.chunks;
+        var chunk = handle >>> CHUNK_SHIFT;
+        if (chunk < chunks.length) {
+            return chunks[chunk];
+        }
+        return grow(chunk);
+    }
+
+    private synchronized MemorySegment grow(int chunk) {
+        var chunks = this.chunks;
+        if (chunk >= chunks.length) {
+            var grown = Arrays.copyOf(chunks, chunk + 1);
+            for (int index = chunks.length; index < grown.length; index++) {
+                var segment = arena.allocate(CHUNK_SIZE * ValueLayout.JAVA_INT.byteSize(), ValueLayout.JAVA_INT.byteAlignment());
+                segment.fill((byte) NO_PRICE);
+                grown[index] = segment;
+            }
+            this.chunks = grown;
+            chunks = grown;
+        }
+        return chunks[chunk];
+    }
+
+    private static void checkPrice(int price) {
+        if (price < 0) {
+            throw new IllegalArgumentException("Invalid price: " + price);
+        }
+    }
+
+    private static long offset(int handle) {
+        return (handle & CHUNK_MASK) * ValueLayout.JAVA_INT.byteSize();
+    }
+}
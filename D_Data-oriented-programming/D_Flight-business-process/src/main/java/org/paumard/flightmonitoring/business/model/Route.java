@@ -0,0 +1,18 @@
+package org.paumard.flightmonitoring.business.model;
+
+import java.util.Objects;
+
+public record Route(City from, City to) {
+
+    public Route {
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+    }
+
+    public static Route of(Flight flight) {
+        return switch (flight) {
+            case SimpleFlight(_, City from, City to) -> new Route(from, to);
+            case MultilegFlight multilegFlight -> new Route(multilegFlight.from(), multilegFlight.to());
+        };
+    }
+}
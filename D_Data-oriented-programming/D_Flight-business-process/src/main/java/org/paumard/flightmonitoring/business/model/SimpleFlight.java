@@ -1,8 +1,6 @@
 package org.paumard.flightmonitoring.business.model;
 
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 
 public record SimpleFlight(SimpleFlightID id, City from, City to) implements Flight {
 
@@ -11,14 +9,11 @@ public record SimpleFlight(SimpleFlightID id, City from, City to) implements Fli
         Objects.requireNonNull(to);
     }
 
-    private static final Map<SimpleFlightID, Price> pricePerFlight =
-            new ConcurrentHashMap<>();
-
     public static Price price(SimpleFlight flight) {
-        return pricePerFlight.get(flight.id());
+        return PriceStore.instance().price(flight.id());
     }
 
     public static void updatePrice(SimpleFlightID id, Price price) {
-        pricePerFlight.put(id, price);
+        PriceStore.instance().updatePrice(id, price);
     }
 }
@@ -0,0 +1,89 @@
+package org.paumard.flightmonitoring.business.model;
+
+import java.util.Objects;
+import java.util.StringJoiner;
+
+public final class Stops {
+
+    public static final int MAX_STOPS = 6;
+    public static final int HEAD_STOPS = 4;
+    public static final int NO_CODE = 0xFFFF;
+
+    private static final int CODE_BITS = 16;
+
+    private Stops() {
+    }
+
+    public static short[] of(City... cities) {
+        if (cities.length > MAX_STOPS) {
+            throw new IllegalArgumentException("A flight cannot have more than " + MAX_STOPS + " stops");
+        }
+        var codes = new short[cities.length];
+        for (int index = 0; index < cities.length; index++) {
+            codes[index] = (short) CityCodes.instance().codeOf(Objects.requireNonNull(cities[index]));
+        }
+        return codes;
+    }
+
+    public static long head(short[] codes) {
+        checkLength(codes);
+        var head = -1L;
+        for (int index = 0; index < Math.min(codes.length, HEAD_STOPS); index++) {
+            head = withCode(head, index, codes[index]);
+        }
+        return head;
+    }
+
+    public static int tail(short[] codes) {
+        checkLength(codes);
+        var tail = -1L;
+        for (int index = HEAD_STOPS; index < codes.length; index++) {
+            tail = withCode(tail, index - HEAD_STOPS, codes[index]);
+        }
+        return (int) tail;
+    }
+
+    public static int size(long head, int tail) {
+        var size = 0;
+        while (size < MAX_STOPS && code(head, tail, size) != NO_CODE) {
+            size++;
+        }
+        for (int index = size + 1; index < MAX_STOPS; index++) {
+            if (code(head, tail, index) != NO_CODE) {
+                throw new IllegalArgumentException("Stops must be contiguous: " + Long.toHexString(head) + ", " + Integer.toHexString(tail));
+            }
+        }
+        return size;
+    }
+
+    public static int code(long head, int tail, int index) {
+        Objects.checkIndex(index, MAX_STOPS);
+        return index < HEAD_STOPS ?
+                (int) (head >>> (index * CODE_BITS)) & NO_CODE :
+                (tail >>> ((index - HEAD_STOPS) * CODE_BITS)) & NO_CODE;
+    }
+
+    public static City city(long head, int tail, int index) {
+        return CityCodes.instance().city(code(head, tail, index));
+    }
+
+    public static String toString(long head, int tail) {
+        var joiner = new StringJoiner(", ", "[", "]");
+        for (int index = 0; index < MAX_STOPS && code(head, tail, index) != NO_CODE; index++) {
+            joiner.add(city(head, tail, index).name());
+        }
+        return joiner.toString();
+    }
+
+    private static void checkLength(short[] codes) {
+        if (codes.length > MAX_STOPS) {
+            throw new IllegalArgumentException("A flight cannot have more than " + MAX_STOPS + " stops");
+        }
+    }
+
+    private static long withCode(long stops, int index, short code) {
+        Objects.checkIndex(Short.toUnsignedInt(code), CityCodes.MAX_CITIES);
+        var shift = index * CODE_BITS;
+        return stops & ~((long) NO_CODE << shift) | (long) Short.toUnsignedInt(code) << shift;
+    }
+}
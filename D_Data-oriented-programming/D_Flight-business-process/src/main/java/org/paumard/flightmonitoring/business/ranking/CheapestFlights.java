@@ -0,0 +1,151 @@
+package org.paumard.flightmonitoring.business.ranking;
+
+import org.paumard.flightmonitoring.business.model.City;
+import org.paumard.flightmonitoring.business.model.Flight;
+import org.paumard.flightmonitoring.business.model.Price;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+import org.paumard.flightmonitoring.business.model.Route;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
+
+public final class CheapestFlights {
+
+    private record Indexed(Flight flight, Ranking ranking) {}
+
+    private final int topFlights;
+    private final IntUnaryOperator prices;
+    private final Map<Route, Ranking> rankings = new ConcurrentHashMap<>();
+    private volatile Indexed[] indexedFlights = new Indexed[0];
+
+    public CheapestFlights(int topFlights) {
+        this(topFlights, PriceStore.instance()::price);
+    }
+
+    public CheapestFlights(int topFlights, IntUnaryOperator prices) {
+        if (topFlights <= 0) {
+            throw new IllegalArgumentException("The number of top flights should be positive: " + topFlights);
+        }
+        this.topFlights = topFlights;
+        this.prices = prices;
+    }
+
+    public List<RankedFlight> cheapest(City from, City to) {
+        var ranking = rankings.get(new Route(from, to));
+        return ranking == null ? List.of() : ranking.snapshot;
+    }
+
+    public synchronized void add(int[] handles, List<Flight> flights) {
+        var length = this.indexedFlights.length;
+        for (var handle : handles) {
+            length = Math.max(length, handle + 1);
+        }
+        var indexedFlights = Arrays.copyOf(this.indexedFlights, length);
+        var added = new Indexed[handles.length];
+        for (int index = 0; index < handles.length; index++) {
+            var handle = handles[index];
+            var flight = flights.get(index);
+            if (indexedFlights[handle] == null) {
+                var ranking = rankings.computeIfAbsent(Route.of(flight), _ -> new Ranking());
+                indexedFlights[handle] = added[index] = new Indexed(flight, ranking);
+            }
+        }
+        this.indexedFlights = indexedFlights;
+
+        for (int index = 0; index < handles.length; index++) {
+            if (added[index] != null) {
+                added[index].ranking().add(handles[index]);
+            }
+        }
+    }
+
+    public void priceChanged(int handle, int previousPrice, int price) {
+        if (previousPrice == price) {
+            return;
+        }
+        var indexedFlights = this.indexedFlights;
+        if (handle < indexedFlights.length && indexedFlights[handle] != null) {
+            indexedFlights[handle].ranking().update(handle, previousPrice, price);
+        }
+    }
+
+    private final class Ranking {
+
+        private long[] keys = new long[16];
+        private int size;
+        private volatile List<RankedFlight> snapshot = List.of();
+
+        private synchronized void add(int handle) {
+            var price = prices.applyAsInt(handle);
+            var removed = removeHandle(handle);
+            var inserted = price == PriceStore.NO_PRICE ? -1 : insert(key(price, handle));
+            if ((removed >= 0 && removed < topFlights) || (inserted >= 0 && inserted < topFlights)) {
+                publish();
+            }
+        }
+
+        private synchronized void update(int handle, int previousPrice, int price) {
+            var removed = previousPrice == PriceStore.NO_PRICE ? -1 : remove(key(previousPrice, handle));
+            if (removed < 0) {
+                removed = removeHandle(handle);
+            }
+            var inserted = insert(key(price, handle));
+            if ((removed >= 0 && removed < topFlights) || (inserted >= 0 && inserted < topFlights)) {
+                publish();
+            }
+        }
+
+        private int removeHandle(int handle) {
+            for (int index = 0; index < size; index++) {
+                if ((int) keys[index] == handle) {
+                    System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+                    size--;
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        private int remove(long key) {
+            var index = Arrays.binarySearch(keys, 0, size, key);
+            if (index < 0) {
+                return -1;
+            }
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            size--;
+            return index;
+        }
+
+        private int insert(long key) {
+            var index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                return -1;
+            }
+            index = -index - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            keys[index] = key;
+            size++;
+            return index;
+        }
+
+        private void publish() {
+            var indexedFlights = CheapestFlights.this.indexedFlights;
+            var cheapest = new RankedFlight[Math.min(size, topFlights)];
+            for (int index = 0; index < cheapest.length; index++) {
+                var key = keys[index];
+                cheapest[index] = new RankedFlight(indexedFlights[(int) key].flight(), new Price((int) (key >>> 32)));
+            }
+            snapshot = List.of(cheapest);
+        }
+    }
+
+    private static long key(int price, int handle) {
+        return (long) price << 32 | Integer.toUnsignedLong(handle);
+    }
+}
@@ -0,0 +1,6 @@
+package org.paumard.flightmonitoring.business.ranking;
+
+import org.paumard.flightmonitoring.business.model.Flight;
+import org.paumard.flightmonitoring.business.model.Price;
+
+public record RankedFlight(Flight flight, Price price) {}
@@ -0,0 +1,229 @@
+package org.paumard.flightmonitoring.business.service;
+
+import org.paumard.flightmonitoring.business.model.City;
+import org.paumard.flightmonitoring.business.model.Flight;
+import org.paumard.flightmonitoring.business.model.FlightID;
+import org.paumard.flightmonitoring.business.ranking.RankedFlight;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class CachingDBService implements DBService {
+
+    public record CacheStats(long hits, long misses, long loadWaits, long evictions, int size) {}
+
+    private final DBService delegate;
+    private final int maximumSize;
+    private final Map<FlightID, Flight> flights = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<FlightID, Boolean> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<FlightID, CompletableFuture<Flight>> loads = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadWaits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingDBService(DBService delegate, int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size should be positive: " + maximumSize);
+        }
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+    }
+
+    public Flight fetchFlight(FlightID flightID) {
+        var flight = flights.get(flightID);
+        if (flight != null) {
+            hits.increment();
+            touch(flightID);
+            return flight;
+        }
+
+        var load = new CompletableFuture<Flight>();
+        var pendingLoad = loads.putIfAbsent(flightID, load);
+        if (pendingLoad != null) {
+            loadWaits.increment();
+            return join(pendingLoad);
+        }
+
+        try {
+            flight = flights.get(flightID);
+            if (flight == null) {
+                misses.increment();
+                flight = delegate.fetchFlight(flightID);
+                cache(flightID, flight, load);
+            } else {
+                hits.increment();
+                touch(flightID);
+            }
+            load.complete(flight);
+            return flight;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(flightID, load);
+        }
+    }
+
+    public List<Flight> fetchFlights(Collection<? extends FlightID> flightIDs) {
+        var ids = flightIDs.toArray(FlightID[]::new);
+        var result = new Flight[ids.length];
+        var cached = 0;
+        for (int index = 0; index < ids.length; index++) {
+            result[index] = flights.get(ids[index]);
+            if (result[index] != null) {
+                cached++;
+            }
+        }
+        if (cached > 0) {
+            hits.add(cached);
+            touch(ids, result);
+        }
+
+        var ownedLoads = new LinkedHashMap<FlightID, CompletableFuture<Flight>>();
+        var pendingLoads = new HashMap<FlightID, CompletableFuture<Flight>>();
+        for (int index = 0; index < ids.length; index++) {
+            var flightID = ids[index];
+            if (result[index] == null && !ownedLoads.containsKey(flightID) && !pendingLoads.containsKey(flightID)) {
+                var load = new CompletableFuture<Flight>();
+                var pendingLoad = loads.putIfAbsent(flightID, load);
+                if (pendingLoad == null) {
+                    ownedLoads.put(flightID, load);
+                } else {
+                    pendingLoads.put(flightID, pendingLoad);
+                }
+            }
+        }
+
+        if (!ownedLoads.isEmpty()) {
+            try {
+                var missingIDs = List.copyOf(ownedLoads.keySet());
+                misses.add(missingIDs.size());
+                var loaded = delegate.fetchFlights(missingIDs);
+                lock.lock();
+                try {
+                    for (int index = 0; index < missingIDs.size(); index++) {
+                        var flightID = missingIDs.get(index);
+                        cacheLocked(flightID, loaded.get(index), ownedLoads.get(flightID));
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                for (int index = 0; index < missingIDs.size(); index++) {
+                    ownedLoads.get(missingIDs.get(index)).complete(loaded.get(index));
+                }
+            } catch (RuntimeException | Error e) {
+                ownedLoads.values().forEach(load -> load.completeExceptionally(e));
+                throw e;
+            } finally {
+                ownedLoads.forEach(loads::remove);
+            }
+        }
+
+        for (int index = 0; index < ids.length; index++) {
+            if (result[index] == null) {
+                var load = ownedLoads.get(ids[index]);
+                if (load == null) {
+                    loadWaits.increment();
+                    load = pendingLoads.get(ids[index]);
+                }
+                result[index] = join(load);
+            }
+        }
+        return Arrays.asList(result);
+    }
+
+    public void updatePrices(PriceBatch batch) {
+        delegate.updatePrices(batch);
+    }
+
+    public List<RankedFlight> cheapestRoutes(City from, City to, int count, int maxLegs) {
+        return delegate.cheapestRoutes(from, to, count, maxLegs);
+    }
+
+    public void invalidate(FlightID flightID) {
+        lock.lock();
+        try {
+            flights.remove(flightID);
+            accessOrder.remove(flightID);
+            loads.remove(flightID);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), loadWaits.sum(), evictions.sum(), flights.size());
+    }
+
+    private void touch(FlightID flightID) {
+        if (lock.tryLock()) {
+            try {
+                accessOrder.get(flightID);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void touch(FlightID[] ids, Flight[] flights) {
+        if (lock.tryLock()) {
+            try {
+                for (int index = 0; index < ids.length; index++) {
+                    if (flights[index] != null) {
+                        accessOrder.get(ids[index]);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void cache(FlightID flightID, Flight flight, CompletableFuture<Flight> load) {
+        lock.lock();
+        try {
+            cacheLocked(flightID, flight, load);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cacheLocked(FlightID flightID, Flight flight, CompletableFuture<Flight> load) {
+        if (loads.get(flightID) != load) {
+            return;
+        }
+        flights.put(flightID, flight);
+        accessOrder.put(flightID, Boolean.TRUE);
+        if (accessOrder.size() > maximumSize) {
+            var eldest = accessOrder.keySet().iterator();
+            while (accessOrder.size() > maximumSize) {
+                flights.remove(eldest.next());
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static Flight join(CompletableFuture<Flight> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,8 +1,31 @@
 package org.paumard.flightmonitoring.business.service;
 
+import org.paumard.flightmonitoring.business.model.City;
 import org.paumard.flightmonitoring.business.model.Flight;
 import org.paumard.flightmonitoring.business.model.FlightID;
+import org.paumard.flightmonitoring.business.ranking.RankedFlight;
 
-public interface DBService {
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public interface DBService extends AutoCloseable {
     Flight fetchFlight(FlightID flightID);
-}
\ No newline at end of file
+    void updatePrices(PriceBatch batch);
+
+    default List<Flight> fetchFlights(Collection<? extends FlightID> flightIDs) {
+        var flights = new ArrayList<Flight>(flightIDs.size());
+        for (var flightID : flightIDs) {
+            flights.add(fetchFlight(flightID));
+        }
+        return flights;
+    }
+
+    default List<RankedFlight> cheapestRoutes(City from, City to, int count, int maxLegs) {
+        throw new UnsupportedOperationException("Route search is not supported by " + getClass().getSimpleName());
+    }
+
+    default void close() throws IOException {
+    }
+}
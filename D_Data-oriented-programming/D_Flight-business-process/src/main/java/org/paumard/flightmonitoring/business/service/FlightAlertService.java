@@ -0,0 +1,7 @@
+package org.paumard.flightmonitoring.business.service;
+
+import org.paumard.flightmonitoring.business.alert.PriceAlert;
+
+public interface FlightAlertService {
+    void alert(PriceAlert alert);
+}
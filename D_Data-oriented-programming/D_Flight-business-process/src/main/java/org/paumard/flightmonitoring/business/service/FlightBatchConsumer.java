@@ -0,0 +1,6 @@
+package org.paumard.flightmonitoring.business.service;
+
+public interface FlightBatchConsumer {
+
+    void updateFlights(PriceBatch batch);
+}
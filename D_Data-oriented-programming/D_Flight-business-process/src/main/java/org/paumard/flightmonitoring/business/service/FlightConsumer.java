@@ -6,4 +6,8 @@ import org.paumard.flightmonitoring.business.model.Price;
 public interface FlightConsumer {
 
     void updateFlight(Price price);
+
+    default FlightBatchConsumer asBatchConsumer() {
+        return new FlightConsumerAdapter(this);
+    }
 }
@@ -0,0 +1,12 @@
+package org.paumard.flightmonitoring.business.service;
+
+import org.paumard.flightmonitoring.business.model.Price;
+
+record FlightConsumerAdapter(FlightConsumer consumer) implements FlightBatchConsumer {
+
+    public void updateFlights(PriceBatch batch) {
+        for (int index = 0; index < batch.size(); index++) {
+            consumer.updateFlight(new Price(batch.price(index)));
+        }
+    }
+}
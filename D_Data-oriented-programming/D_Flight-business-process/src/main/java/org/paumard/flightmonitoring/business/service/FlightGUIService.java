@@ -1,7 +1,18 @@
 package org.paumard.flightmonitoring.business.service;
 
 import org.paumard.flightmonitoring.business.model.Flight;
+import org.paumard.flightmonitoring.business.model.Price;
 
-public interface FlightGUIService {
-    void displayFlight(Flight flight);
-}
\ No newline at end of file
+public interface FlightGUIService extends AutoCloseable {
+    void displayFlight(Flight flight, Price price);
+
+    default void beginFrame() {
+    }
+
+    default boolean endFrame() {
+        return false;
+    }
+
+    default void close() {
+    }
+}
@@ -0,0 +1,69 @@
+package org.paumard.flightmonitoring.business.service;
+
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.model.FlightID;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public final class PriceBatch {
+
+    private int[] handles;
+    private int[] prices;
+    private int size;
+
+    public PriceBatch() {
+        this(16);
+    }
+
+    public PriceBatch(int capacity) {
+        this.handles = new int[capacity];
+        this.prices = new int[capacity];
+    }
+
+    public void add(int handle, int price) {
+        if (size == prices.length) {
+            var capacity = Math.max(16, size * 2);
+            handles = Arrays.copyOf(handles, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+        }
+        handles[size] = handle;
+        prices[size] = price;
+        size++;
+    }
+
+    public void setPrice(int index, int price) {
+        Objects.checkIndex(index, size);
+        prices[index] = price;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public PriceBatch copy() {
+        var copy = new PriceBatch(size);
+        System.arraycopy(handles, 0, copy.handles, 0, size);
+        System.arraycopy(prices, 0, copy.prices, 0, size);
+        copy.size = size;
+        return copy;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int handle(int index) {
+        Objects.checkIndex(index, size);
+        return handles[index];
+    }
+
+    public FlightID flightID(int index) {
+        return FlightHandles.instance().flightID(handle(index));
+    }
+
+    public int price(int index) {
+        Objects.checkIndex(index, size);
+        return prices[index];
+    }
+}
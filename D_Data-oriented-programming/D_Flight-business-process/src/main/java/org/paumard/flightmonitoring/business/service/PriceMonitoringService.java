@@ -2,7 +2,22 @@ package org.paumard.flightmonitoring.business.service;
 
 import org.paumard.flightmonitoring.business.model.FlightID;
 
-public interface PriceMonitoringService {
-    void followPrice(FlightID flightID, FlightConsumer consumer);
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+public interface PriceMonitoringService extends AutoCloseable {
+    void followPrices(Collection<? extends FlightID> flightIDs, FlightBatchConsumer consumer);
+    void unfollowPrices(Collection<? extends FlightID> flightIDs, FlightBatchConsumer consumer);
     void updatePrices();
-}
\ No newline at end of file
+    Flow.Publisher<PriceTick> priceUpdates();
+    void close();
+
+    default void followPrice(FlightID flightID, FlightConsumer consumer) {
+        followPrices(List.of(flightID), consumer.asBatchConsumer());
+    }
+
+    default void unfollowPrice(FlightID flightID, FlightConsumer consumer) {
+        unfollowPrices(List.of(flightID), consumer.asBatchConsumer());
+    }
+}
@@ -0,0 +1,4 @@
+package org.paumard.flightmonitoring.business.service;
+
+public record PriceTick(long sequence, int flights) {
+}
@@ -0,0 +1,229 @@
+package org.paumard.flightmonitoring.business;
+
+import org.junit.jupiter.api.Test;
+import org.paumard.flightmonitoring.business.alert.PriceAlert;
+import org.paumard.flightmonitoring.business.alert.PriceWatch;
+import org.paumard.flightmonitoring.business.model.City;
+import org.paumard.flightmonitoring.business.model.Flight;
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.model.FlightID;
+import org.paumard.flightmonitoring.business.model.Price;
+import org.paumard.flightmonitoring.business.model.SimpleFlight;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+import org.paumard.flightmonitoring.business.ranking.RankedFlight;
+import org.paumard.flightmonitoring.business.service.DBService;
+import org.paumard.flightmonitoring.business.service.FlightBatchConsumer;
+import org.paumard.flightmonitoring.business.service.FlightGUIService;
+import org.paumard.flightmonitoring.business.service.PriceBatch;
+import org.paumard.flightmonitoring.business.service.PriceMonitoringService;
+import org.paumard.flightmonitoring.business.service.PriceTick;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FlightMonitoringDisplayTest {
+
+    private static final City PARIS = new City("Paris");
+    private static final City ATLANTA = new City("Atlanta");
+
+    private static final class SimpleDBService implements DBService {
+        public Flight fetchFlight(FlightID flightID) {
+            return new SimpleFlight((SimpleFlightID) flightID, PARIS, ATLANTA);
+        }
+
+        public void updatePrices(PriceBatch batch) {
+        }
+    }
+
+    private static final class RecordingGUIService implements FlightGUIService {
+        private final List<List<String>> frames = new ArrayList<>();
+        private List<String> frame = new ArrayList<>();
+        private int framesToDrop;
+
+        public void beginFrame() {
+            frame = new ArrayList<>();
+        }
+
+        public void displayFlight(Flight flight, Price price) {
+            frame.add(((SimpleFlight) flight).id().id() + "=" + price.price());
+        }
+
+        public boolean endFrame() {
+            frames.add(frame);
+            if (framesToDrop > 0) {
+                framesToDrop--;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class ManualPriceMonitoringService implements PriceMonitoringService {
+        private final Set<FlightBatchConsumer> consumers = new CopyOnWriteArraySet<>();
+        private final SubmissionPublisher<PriceTick> publisher = new SubmissionPublisher<>(Runnable::run, 16);
+        private long sequence;
+
+        public void followPrices(Collection<? extends FlightID> flightIDs, FlightBatchConsumer consumer) {
+            consumers.add(consumer);
+        }
+
+        public void unfollowPrices(Collection<? extends FlightID> flightIDs, FlightBatchConsumer consumer) {
+            consumers.remove(consumer);
+        }
+
+        public void updatePrices() {
+        }
+
+        public Flow.Publisher<PriceTick> priceUpdates() {
+            return publisher;
+        }
+
+        public void close() {
+            publisher.close();
+        }
+
+        private void tick(List<SimpleFlightID> flightIDs, int... prices) {
+            tick(consumers, flightIDs, prices);
+        }
+
+        private void tickFirstConsumer(List<SimpleFlightID> flightIDs, int... prices) {
+            tick(List.of(consumers.iterator().next()), flightIDs, prices);
+        }
+
+        private void tick(Collection<FlightBatchConsumer> consumers, List<SimpleFlightID> flightIDs, int... prices) {
+            var batch = new PriceBatch();
+            for (int index = 0; index < prices.length; index++) {
+                batch.add(FlightHandles.instance().handleOf(flightIDs.get(index)), prices[index]);
+            }
+            for (var consumer : consumers) {
+                consumer.updateFlights(batch);
+            }
+            publisher.submit(new PriceTick(++sequence, batch.size()));
+        }
+    }
+
+    @Test
+    public void should_render_a_full_frame_after_a_dropped_frame() {
+        var flightIDs = List.of(
+                new SimpleFlightID("DropPaAt"), new SimpleFlightID("DropAmNY"), new SimpleFlightID("DropLoMi"));
+        var guiService = new RecordingGUIService();
+        try (var monitoringService = new ManualPriceMonitoringService();
+             var flightMonitoring = new FlightMonitoring(new SimpleDBService(), guiService, monitoringService)) {
+
+            flightMonitoring.followFlights(flightIDs);
+            flightMonitoring.monitorFlights(flightIDs);
+            monitoringService.tick(flightIDs, 100, 101, 102);
+            guiService.framesToDrop = 1;
+            flightMonitoring.launchDisplay();
+
+            monitoringService.tick(flightIDs, 90);
+            monitoringService.tick(flightIDs.subList(1, 2), 95);
+        }
+
+        assertThat(guiService.frames.get(0)).containsExactlyInAnyOrder("DropPaAt=100", "DropAmNY=101", "DropLoMi=102");
+        assertThat(guiService.frames.get(1)).containsExactlyInAnyOrder("DropPaAt=90", "DropAmNY=101", "DropLoMi=102");
+        assertThat(guiService.frames.get(2)).containsExactly("DropAmNY=95");
+    }
+
+    @Test
+    public void should_not_share_changed_flights_between_monitorings() {
+        var flightIDs = List.of(new SimpleFlightID("SharedPaAt"));
+        var firstGUIService = new RecordingGUIService();
+        var secondGUIService = new RecordingGUIService();
+        try (var monitoringService = new ManualPriceMonitoringService();
+             var first = new FlightMonitoring(new SimpleDBService(), firstGUIService, monitoringService);
+             var second = new FlightMonitoring(new SimpleDBService(), secondGUIService, monitoringService)) {
+
+            for (var flightMonitoring : List.of(first, second)) {
+                flightMonitoring.followFlights(flightIDs);
+                flightMonitoring.monitorFlights(flightIDs);
+                flightMonitoring.launchDisplay();
+            }
+            monitoringService.tick(flightIDs, 120);
+        }
+
+        assertThat(firstGUIService.frames).contains(List.of("SharedPaAt=120"));
+        assertThat(secondGUIService.frames).contains(List.of("SharedPaAt=120"));
+    }
+
+    @Test
+    public void should_only_watch_the_prices_of_followed_flights() {
+        var followed = new SimpleFlightID("WatchPaAt");
+        var notFollowed = new SimpleFlightID("WatchAmNY");
+        var alerts = new CopyOnWriteArrayList<PriceAlert>();
+        try (var monitoringService = new ManualPriceMonitoringService();
+             var flightMonitoring = new FlightMonitoring(
+                     new SimpleDBService(), new RecordingGUIService(), monitoringService, alerts::add)) {
+
+            flightMonitoring.followFlight(followed);
+            var watch = flightMonitoring.watchPrice(new PriceWatch(followed, PriceWatch.Direction.BELOW, 85));
+            assertThatThrownBy(() -> flightMonitoring.watchPrice(new PriceWatch(notFollowed, PriceWatch.Direction.BELOW, 85)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("WatchAmNY");
+            assertThat(FlightHandles.instance().find(notFollowed)).isEqualTo(FlightHandles.NO_HANDLE);
+
+            monitoringService.tick(List.of(followed), 90);
+            monitoringService.tick(List.of(followed), 80);
+
+            assertThat(alerts).containsExactly(new PriceAlert(watch, new Price(90), new Price(80)));
+        }
+    }
+
+    @Test
+    public void should_fire_the_price_alerts_of_every_monitoring() {
+        var flightID = new SimpleFlightID("TwicePaAt");
+        var firstAlerts = new CopyOnWriteArrayList<PriceAlert>();
+        var secondAlerts = new CopyOnWriteArrayList<PriceAlert>();
+        try (var monitoringService = new ManualPriceMonitoringService();
+             var first = new FlightMonitoring(
+                     new SimpleDBService(), new RecordingGUIService(), monitoringService, firstAlerts::add);
+             var second = new FlightMonitoring(
+                     new SimpleDBService(), new RecordingGUIService(), monitoringService, secondAlerts::add)) {
+
+            first.followFlight(flightID);
+            second.followFlight(flightID);
+            var firstWatch = first.watchPrice(new PriceWatch(flightID, PriceWatch.Direction.BELOW, 85));
+            var secondWatch = second.watchPrice(new PriceWatch(flightID, PriceWatch.Direction.BELOW, 85));
+
+            monitoringService.tick(List.of(flightID), 90);
+            monitoringService.tick(List.of(flightID), 80);
+
+            assertThat(firstAlerts).containsExactly(new PriceAlert(firstWatch, new Price(90), new Price(80)));
+            assertThat(secondAlerts).containsExactly(new PriceAlert(secondWatch, new Price(90), new Price(80)));
+        }
+    }
+
+    @Test
+    public void should_rank_the_prices_each_monitoring_has_seen() {
+        var cheap = new SimpleFlightID("RankTwicePaAt1");
+        var expensive = new SimpleFlightID("RankTwicePaAt2");
+        var flightIDs = List.of(cheap, expensive);
+        try (var monitoringService = new ManualPriceMonitoringService();
+             var first = new FlightMonitoring(new SimpleDBService(), new RecordingGUIService(), monitoringService);
+             var second = new FlightMonitoring(new SimpleDBService(), new RecordingGUIService(), monitoringService)) {
+
+            first.followFlights(flightIDs);
+            second.followFlights(flightIDs);
+            first.monitorFlights(flightIDs);
+            monitoringService.tick(flightIDs, 100, 110);
+            monitoringService.tickFirstConsumer(flightIDs, 90);
+            second.monitorFlights(flightIDs);
+            monitoringService.tick(flightIDs, 100);
+
+            var expected = List.of(
+                    new RankedFlight(new SimpleFlight(cheap, PARIS, ATLANTA), new Price(100)),
+                    new RankedFlight(new SimpleFlight(expensive, PARIS, ATLANTA), new Price(110)));
+            assertThat(first.cheapestFlights(PARIS, ATLANTA)).isEqualTo(expected);
+            assertThat(second.cheapestFlights(PARIS, ATLANTA)).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.paumard.flightmonitoring.business.alert;
+
+import org.junit.jupiter.api.Test;
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.model.Price;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.paumard.flightmonitoring.business.alert.PriceWatch.Direction.ABOVE;
+import static org.paumard.flightmonitoring.business.alert.PriceWatch.Direction.BELOW;
+
+public class PriceAlertsTest {
+
+    private final List<PriceAlert> alerts = new ArrayList<>();
+    private final PriceAlerts priceAlerts = new PriceAlerts(alerts::add);
+
+    @Test
+    public void should_not_alert_without_thresholds() {
+        var flightID = new SimpleFlightID("AlertNone");
+        var handle = FlightHandles.instance().handleOf(flightID);
+        priceAlerts.watch(new PriceWatch(new SimpleFlightID("AlertOther"), BELOW, 100));
+
+        priceAlerts.priceChanged(handle, 120, 80);
+        priceAlerts.priceChanged(handle, 80, 120);
+
+        assertThat(alerts).isEmpty();
+    }
+
+    @Test
+    public void should_alert_when_a_drop_crosses_one_threshold() {
+        var flightID = new SimpleFlightID("AlertDropOne");
+        var handle = FlightHandles.instance().handleOf(flightID);
+        var watch = priceAlerts.watch(new PriceWatch(flightID, BELOW, 85));
+
+        priceAlerts.priceChanged(handle, 90, 85);
+        assertThat(alerts).isEmpty();
+
+        priceAlerts.priceChanged(handle, 85, 80);
+        assertThat(alerts).containsExactly(new PriceAlert(watch, new Price(85), new Price(80)));
+
+        priceAlerts.priceChanged(handle, 80, 90);
+        assertThat(alerts).hasSize(1);
+    }
+
+    @Test
+    public void should_alert_when_a_rise_crosses_one_threshold() {
+        var flightID = new SimpleFlightID("AlertRiseOne");
+        var handle = FlightHandles.instance().handleOf(flightID);
+        var watch = priceAlerts.watch(new PriceWatch(flightID, ABOVE, 115));
+
+        priceAlerts.priceChanged(handle, 110, 115);
+        assertThat(alerts).isEmpty();
+
+        priceAlerts.priceChanged(handle, 115, 120);
+        assertThat(alerts).containsExactly(new PriceAlert(watch, new Price(115), new Price(120)));
+
+        priceAlerts.priceChanged(handle, 120, 100);
+        assertThat(alerts).hasSize(1);
+    }
+
+    @Test
+    public void should_alert_every_threshold_crossed_by_a_drop() {
+        var flightID = new SimpleFlightID("AlertDropMany");
+        var handle = FlightHandles.instance().handleOf(flightID);
+        for (var threshold : List.of(90, 70, 80, 60)) {
+            priceAlerts.watch(new PriceWatch(flightID, BELOW, threshold));
+        }
+        priceAlerts.watch(new PriceWatch(flightID, ABOVE, 75));
+
+        priceAlerts.priceChanged(handle, 95, 65);
+
+        assertThat(alerts).extracting(alert -> alert.watch().threshold()).containsExactly(70, 80, 90);
+        assertThat(alerts).allSatisfy(alert -> {
+            assertThat(alert.watch().direction()).isEqualTo(BELOW);
+            assertThat(alert.previousPrice()).isEqualTo(new Price(95));
+            assertThat(alert.price()).isEqualTo(new Price(65));
+        });
+    }
+
+    @Test
+    public void should_alert_every_threshold_crossed_by_a_rise() {
+        var flightID = new SimpleFlightID("AlertRiseMany");
+        var handle = FlightHandles.instance().handleOf(flightID);
+        for (var threshold : List.of(120, 100, 110, 130)) {
+            priceAlerts.watch(new PriceWatch(flightID, ABOVE, threshold));
+        }
+        priceAlerts.watch(new PriceWatch(flightID, BELOW, 105));
+
+        priceAlerts.priceChanged(handle, 100, 125);
+
+        assertThat(alerts).extracting(alert -> alert.watch().threshold()).containsExactly(100, 110, 120);
+        assertThat(alerts).extracting(alert -> alert.watch().direction()).containsOnly(ABOVE);
+    }
+
+    @Test
+    public void should_not_alert_on_equal_or_first_prices() {
+        var flightID = new SimpleFlightID("AlertEqual");
+        var handle = FlightHandles.instance().handleOf(flightID);
+        priceAlerts.watch(new PriceWatch(flightID, BELOW, 100));
+        priceAlerts.watch(new PriceWatch(flightID, ABOVE, 100));
+
+        priceAlerts.priceChanged(handle, 100, 100);
+        priceAlerts.priceChanged(handle, PriceStore.NO_PRICE, 50);
+
+        assertThat(alerts).isEmpty();
+    }
+
+    @Test
+    public void should_stop_alerting_once_unwatched() {
+        var flightID = new SimpleFlightID("AlertUnwatch");
+        var handle = FlightHandles.instance().handleOf(flightID);
+        var watch = priceAlerts.watch(new PriceWatch(flightID, BELOW, 85));
+        priceAlerts.watch(new PriceWatch(flightID, BELOW, 95));
+
+        assertThat(priceAlerts.unwatch(watch)).isTrue();
+        assertThat(priceAlerts.unwatch(watch)).isFalse();
+        assertThat(priceAlerts.size()).isEqualTo(1);
+
+        priceAlerts.priceChanged(handle, 100, 80);
+        assertThat(alerts).extracting(alert -> alert.watch().threshold()).containsExactly(95);
+    }
+
+    @Test
+    public void should_not_intern_a_flight_when_unwatching_it() {
+        var flightID = new SimpleFlightID("AlertNeverSeen");
+
+        assertThat(priceAlerts.unwatch(new PriceWatch(flightID, ABOVE, 100))).isFalse();
+        assertThat(FlightHandles.instance().find(flightID)).isEqualTo(FlightHandles.NO_HANDLE);
+    }
+}
@@ -0,0 +1,66 @@
+package org.paumard.flightmonitoring.business.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void should_record_values_below_16_exactly() {
+        for (long value = 0; value < 16; value++) {
+            assertThat(LatencyHistogram.bucket(value)).isEqualTo((int) value);
+            assertThat(LatencyHistogram.upperBound((int) value)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    public void should_split_powers_of_two_into_contiguous_buckets() {
+        assertThat(LatencyHistogram.bucket(16)).isEqualTo(16);
+        assertThat(LatencyHistogram.bucket(31)).isEqualTo(31);
+        assertThat(LatencyHistogram.bucket(32)).isEqualTo(32);
+        assertThat(LatencyHistogram.bucket(33)).isEqualTo(32);
+        assertThat(LatencyHistogram.bucket(34)).isEqualTo(33);
+        assertThat(LatencyHistogram.upperBound(32)).isEqualTo(33);
+
+        var last = LatencyHistogram.bucket(Long.MAX_VALUE);
+        for (int bucket = 1; bucket <= last; bucket++) {
+            var lowerBound = LatencyHistogram.upperBound(bucket - 1) + 1;
+            var upperBound = LatencyHistogram.upperBound(bucket);
+            assertThat(upperBound).isGreaterThanOrEqualTo(lowerBound);
+            assertThat(LatencyHistogram.bucket(lowerBound)).isEqualTo(bucket);
+            assertThat(LatencyHistogram.bucket(upperBound)).isEqualTo(bucket);
+        }
+    }
+
+    @Test
+    public void should_bucket_long_max_value_in_the_last_bucket() {
+        var bucket = LatencyHistogram.bucket(Long.MAX_VALUE);
+
+        assertThat(LatencyHistogram.upperBound(bucket)).isEqualTo(Long.MAX_VALUE);
+        assertThat(LatencyHistogram.bucket(Long.MAX_VALUE - 1)).isEqualTo(bucket);
+
+        var histogram = new LatencyHistogram();
+        histogram.recordNanos(Long.MAX_VALUE);
+        assertThat(histogram.snapshot("max").max()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void should_compute_percentiles_from_bucket_upper_bounds() {
+        var histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10; value++) {
+            histogram.recordNanos(value);
+        }
+        histogram.recordNanos(-5);
+        histogram.recordNanos(1_000);
+
+        var snapshot = histogram.snapshot("latency");
+
+        assertThat(snapshot.count()).isEqualTo(12);
+        assertThat(snapshot.p50()).isEqualTo(5);
+        assertThat(snapshot.p90()).isEqualTo(10);
+        assertThat(snapshot.max()).isEqualTo(LatencyHistogram.upperBound(LatencyHistogram.bucket(1_000)));
+        assertThat(new LatencyHistogram().snapshot("empty"))
+                .isEqualTo(new HistogramSnapshot("empty", 0, 0, 0, 0, 0, 0));
+    }
+}
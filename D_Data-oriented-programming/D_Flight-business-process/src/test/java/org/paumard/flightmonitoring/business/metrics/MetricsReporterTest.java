@@ -0,0 +1,41 @@
+package org.paumard.flightmonitoring.business.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsReporterTest {
+
+    @Test
+    public void should_keep_reporting_after_a_failed_report() {
+        var attempts = new AtomicInteger();
+        var output = new ByteArrayOutputStream();
+        var out = new PrintStream(output, true, StandardCharsets.UTF_8) {
+            public void print(String s) {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Report failure");
+                }
+                super.print(s);
+            }
+        };
+        try (var scheduler = Executors.newSingleThreadScheduledExecutor();
+             var _ = new MetricsReporter(new Metrics(), out, Duration.ofMillis(5), scheduler)) {
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (attempts.get() < 3 && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(1_000_000L);
+            }
+        }
+
+        assertThat(attempts.get()).isGreaterThanOrEqualTo(3);
+        assertThat(output.toString(StandardCharsets.UTF_8)).contains("Metrics at ");
+    }
+}
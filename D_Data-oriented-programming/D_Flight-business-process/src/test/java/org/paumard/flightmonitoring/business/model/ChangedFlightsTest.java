@@ -0,0 +1,40 @@
+package org.paumard.flightmonitoring.business.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangedFlightsTest {
+
+    @Test
+    public void should_drain_each_marked_handle_once_in_order() {
+        var changedFlights = new ChangedFlights();
+        for (var handle : new int[]{70_000, 3, 64, 3, 0, 63, 70_000}) {
+            changedFlights.mark(handle);
+        }
+
+        assertThat(drain(changedFlights)).containsExactly(0, 3, 63, 64, 70_000);
+        assertThat(drain(changedFlights)).isEmpty();
+    }
+
+    @Test
+    public void should_keep_independent_changes_per_instance() {
+        var first = new ChangedFlights();
+        var second = new ChangedFlights();
+        first.mark(5);
+        second.mark(5);
+        second.mark(6);
+
+        assertThat(drain(first)).containsExactly(5);
+        assertThat(drain(second)).containsExactly(5, 6);
+    }
+
+    private static List<Integer> drain(ChangedFlights changedFlights) {
+        var handles = new ArrayList<Integer>();
+        changedFlights.drain(handles::add);
+        return handles;
+    }
+}
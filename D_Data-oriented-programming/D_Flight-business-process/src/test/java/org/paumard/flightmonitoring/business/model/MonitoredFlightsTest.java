@@ -0,0 +1,35 @@
+package org.paumard.flightmonitoring.business.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MonitoredFlightsTest {
+
+    private static final City PARIS = new City("Paris");
+    private static final City ATLANTA = new City("Atlanta");
+
+    @Test
+    public void should_visit_only_the_monitored_handles() {
+        var monitoredFlights = new MonitoredFlights();
+        var first = new SimpleFlight(new SimpleFlightID("MonitoredPaAt1"), PARIS, ATLANTA);
+        var second = new SimpleFlight(new SimpleFlightID("MonitoredPaAt2"), PARIS, ATLANTA);
+        var updated = new SimpleFlight(new SimpleFlightID("MonitoredPaAt1"), ATLANTA, PARIS);
+        monitoredFlights.add(new int[]{5_000_000, 3}, List.of(first, second));
+        monitoredFlights.add(new int[]{5_000_000}, List.of(updated));
+
+        var handles = new ArrayList<Integer>();
+        monitoredFlights.forEach(handles::add);
+
+        assertThat(handles).containsExactly(5_000_000, 3);
+        assertThat(monitoredFlights.size()).isEqualTo(2);
+        assertThat(monitoredFlights.flight(5_000_000)).isEqualTo(updated);
+        assertThat(monitoredFlights.flight(3)).isEqualTo(second);
+        assertThat(monitoredFlights.flight(4)).isNull();
+        assertThat(monitoredFlights.flight(4_000_000)).isNull();
+        assertThat(monitoredFlights.flight(6_000_000)).isNull();
+    }
+}
@@ -0,0 +1,63 @@
+package org.paumard.flightmonitoring.business.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MultilegFlightTest {
+
+    private static final City PARIS = new City("Paris");
+    private static final City LONDON = new City("London");
+    private static final City NEW_YORK = new City("New York");
+    private static final City ATLANTA = new City("Atlanta");
+    private static final City MIAMI = new City("Miami");
+    private static final City WASHINGTON = new City("Washington");
+    private static final City AMSTERDAM = new City("Amsterdam");
+
+    @Test
+    public void should_keep_up_to_four_connections() {
+        var flight = new MultilegFlight(new MultilegFlightID("PaLoNYAtMiWa"),
+                PARIS, LONDON, NEW_YORK, ATLANTA, MIAMI, WASHINGTON);
+
+        assertThat(flight.from()).isEqualTo(PARIS);
+        assertThat(flight.to()).isEqualTo(WASHINGTON);
+        assertThat(flight.viaCount()).isEqualTo(4);
+        assertThat(flight.via(3)).isEqualTo(MIAMI);
+        assertThat(flight.legCount()).isEqualTo(5);
+        assertThatThrownBy(() -> new MultilegFlight(new MultilegFlightID("PaLoNYAtMiWaAm"),
+                PARIS, LONDON, NEW_YORK, ATLANTA, MIAMI, WASHINGTON, AMSTERDAM))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MultilegFlight(new MultilegFlightID("PaLo"), PARIS, LONDON))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_store_16_bit_city_codes() {
+        var codes = new short[]{0, 4_096, (short) (CityCodes.MAX_CITIES - 1), 7, 8};
+        var head = Stops.head(codes);
+        var tail = Stops.tail(codes);
+
+        assertThat(CityCodes.MAX_CITIES).isEqualTo((1 << 16) - 1);
+        assertThat(Stops.size(head, tail)).isEqualTo(5);
+        assertThat(Stops.code(head, tail, 1)).isEqualTo(4_096);
+        assertThat(Stops.code(head, tail, 2)).isEqualTo(CityCodes.MAX_CITIES - 1);
+        assertThat(Stops.code(head, tail, 4)).isEqualTo(8);
+        assertThat(Stops.code(head, tail, 5)).isEqualTo(Stops.NO_CODE);
+        assertThatThrownBy(() -> Stops.head(new short[]{(short) CityCodes.MAX_CITIES}))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void should_compare_flights_by_their_stops() {
+        var flight = new MultilegFlight(new MultilegFlightID("PaLoNY"), Stops.of(PARIS, LONDON, NEW_YORK));
+
+        assertThat(flight.via(0)).isEqualTo(LONDON);
+        assertThat(flight).isEqualTo(new MultilegFlight(new MultilegFlightID("PaLoNY"), PARIS, LONDON, NEW_YORK));
+        assertThat(flight).hasSameHashCodeAs(new MultilegFlight(new MultilegFlightID("PaLoNY"), PARIS, LONDON, NEW_YORK));
+        assertThat(flight).isNotEqualTo(new MultilegFlight(new MultilegFlightID("PaLoNY"), PARIS, MIAMI, NEW_YORK));
+        assertThat(flight.toString()).isEqualTo("MultilegFlight[id=MultilegFlightID[id=PaLoNY], stops=[Paris, London, New York]]");
+        assertThatThrownBy(() -> new MultilegFlight(new MultilegFlightID("PaNY"), flight.stops() | 0xFFFFL << 16, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,33 @@
+package org.paumard.flightmonitoring.business.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PriceStoreTest {
+
+    @Test
+    public void should_reject_negative_prices() {
+        var priceStore = PriceStore.instance();
+        var handle = FlightHandles.instance().handleOf(new SimpleFlightID("NegativePaAt"));
+
+        assertThatThrownBy(() -> new Price(PriceStore.NO_PRICE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> priceStore.updatePrice(handle, PriceStore.NO_PRICE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(new Price(0).price()).isZero();
+    }
+
+    @Test
+    public void should_read_the_price_of_an_unknown_flight_without_interning_it() {
+        var priceStore = PriceStore.instance();
+        var unknown = new SimpleFlightID("UnknownPaAt");
+        var known = new SimpleFlightID("KnownPaAt");
+        priceStore.updatePrice(known, new Price(0));
+
+        assertThat(priceStore.price(unknown)).isNull();
+        assertThat(FlightHandles.instance().find(unknown)).isEqualTo(FlightHandles.NO_HANDLE);
+        assertThat(priceStore.price(known)).isEqualTo(new Price(0));
+    }
+}
@@ -0,0 +1,163 @@
+package org.paumard.flightmonitoring.business.ranking;
+
+import org.junit.jupiter.api.Test;
+import org.paumard.flightmonitoring.business.model.City;
+import org.paumard.flightmonitoring.business.model.Flight;
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.model.Price;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+import org.paumard.flightmonitoring.business.model.SimpleFlight;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CheapestFlightsTest {
+
+    private static final City PARIS = new City("Paris");
+    private static final City ATLANTA = new City("Atlanta");
+    private static final City NEW_YORK = new City("New York");
+
+    @Test
+    public void should_rank_flights_by_price_then_handle() {
+        var cheapestFlights = new CheapestFlights(10);
+        var first = flight("RankPaAt1", PARIS, ATLANTA);
+        var second = flight("RankPaAt2", PARIS, ATLANTA);
+        var third = flight("RankPaAt3", PARIS, ATLANTA);
+        var elsewhere = flight("RankPaNY1", PARIS, NEW_YORK);
+        add(cheapestFlights, first, second, third, elsewhere);
+
+        changePrice(cheapestFlights, first, 120);
+        changePrice(cheapestFlights, second, 90);
+        changePrice(cheapestFlights, third, 120);
+        changePrice(cheapestFlights, elsewhere, 50);
+
+        assertThat(cheapestFlights.cheapest(PARIS, ATLANTA)).containsExactly(
+                new RankedFlight(second, new Price(90)),
+                new RankedFlight(first, new Price(120)),
+                new RankedFlight(third, new Price(120)));
+        assertThat(cheapestFlights.cheapest(PARIS, NEW_YORK)).containsExactly(
+                new RankedFlight(elsewhere, new Price(50)));
+        assertThat(cheapestFlights.cheapest(ATLANTA, PARIS)).isEmpty();
+
+        changePrice(cheapestFlights, first, 80);
+
+        assertThat(cheapestFlights.cheapest(PARIS, ATLANTA)).extracting(RankedFlight::flight)
+                .containsExactly(first, second, third);
+    }
+
+    @Test
+    public void should_keep_only_the_top_flights_in_the_snapshot() {
+        var cheapestFlights = new CheapestFlights(2);
+        var flights = new SimpleFlight[5];
+        for (int index = 0; index < flights.length; index++) {
+            flights[index] = flight("TopPaAt" + index, PARIS, ATLANTA);
+        }
+        add(cheapestFlights, flights);
+        for (int index = 0; index < flights.length; index++) {
+            changePrice(cheapestFlights, flights[index], 100 + 10 * index);
+        }
+
+        var snapshot = cheapestFlights.cheapest(PARIS, ATLANTA);
+        assertThat(snapshot).containsExactly(
+                new RankedFlight(flights[0], new Price(100)),
+                new RankedFlight(flights[1], new Price(110)));
+
+        changePrice(cheapestFlights, flights[4], 130);
+        assertThat(cheapestFlights.cheapest(PARIS, ATLANTA)).isSameAs(snapshot);
+
+        changePrice(cheapestFlights, flights[4], 105);
+        assertThat(cheapestFlights.cheapest(PARIS, ATLANTA)).containsExactly(
+                new RankedFlight(flights[0], new Price(100)),
+                new RankedFlight(flights[4], new Price(105)));
+
+        changePrice(cheapestFlights, flights[0], 150);
+        assertThat(cheapestFlights.cheapest(PARIS, ATLANTA)).containsExactly(
+                new RankedFlight(flights[4], new Price(105)),
+                new RankedFlight(flights[1], new Price(110)));
+    }
+
+    @Test
+    public void should_rank_a_flight_with_the_price_it_had_before_being_added() {
+        var cheapestFlights = new CheapestFlights(3);
+        var priced = flight("PricedPaAt", PARIS, ATLANTA);
+        var unpriced = flight("UnpricedPaAt", PARIS, ATLANTA);
+        PriceStore.instance().updatePrice(handle(priced), 75);
+
+        add(cheapestFlights, priced, unpriced);
+
+        assertThat(cheapestFlights.cheapest(PARIS, ATLANTA)).containsExactly(new RankedFlight(priced, new Price(75)));
+    }
+
+    @Test
+    public void should_drop_a_stale_price_missed_by_a_price_change() {
+        var cheapestFlights = new CheapestFlights(3);
+        var flight = flight("StalePaAt", PARIS, ATLANTA);
+        var handle = handle(flight);
+        PriceStore.instance().updatePrice(handle, 100);
+        add(cheapestFlights, flight);
+
+        PriceStore.instance().updatePrice(handle, 80);
+        cheapestFlights.priceChanged(handle, 90, 80);
+
+        assertThat(cheapestFlights.cheapest(PARIS, ATLANTA)).containsExactly(new RankedFlight(flight, new Price(80)));
+    }
+
+    @Test
+    public void should_not_leave_a_stale_price_when_added_during_a_price_change() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            var cheapestFlights = new CheapestFlights(10);
+            var flight = flight("RacePaAt" + round, PARIS, ATLANTA);
+            var handle = handle(flight);
+            PriceStore.instance().updatePrice(handle, 1_000_000);
+
+            var updating = new CountDownLatch(1);
+            var added = new CountDownLatch(1);
+            var updater = Thread.ofPlatform().start(() -> {
+                var price = 1_000_000;
+                var extraUpdates = 100;
+                while (extraUpdates > 0) {
+                    price--;
+                    var previousPrice = PriceStore.instance().getAndUpdatePrice(handle, price);
+                    cheapestFlights.priceChanged(handle, previousPrice, price);
+                    updating.countDown();
+                    if (added.getCount() == 0) {
+                        extraUpdates--;
+                    }
+                }
+            });
+            updating.await();
+            add(cheapestFlights, flight);
+            added.countDown();
+            updater.join();
+
+            assertThat(cheapestFlights.cheapest(PARIS, ATLANTA))
+                    .as("round %d", round)
+                    .containsExactly(new RankedFlight(flight, new Price(PriceStore.instance().price(handle))));
+        }
+    }
+
+    private static SimpleFlight flight(String id, City from, City to) {
+        return new SimpleFlight(new SimpleFlightID(id), from, to);
+    }
+
+    private static int handle(SimpleFlight flight) {
+        return FlightHandles.instance().handleOf(flight.id());
+    }
+
+    private static void add(CheapestFlights cheapestFlights, SimpleFlight... flights) {
+        var handles = new int[flights.length];
+        for (int index = 0; index < flights.length; index++) {
+            handles[index] = handle(flights[index]);
+        }
+        cheapestFlights.add(handles, List.<Flight>of(flights));
+    }
+
+    private static void changePrice(CheapestFlights cheapestFlights, SimpleFlight flight, int price) {
+        var handle = handle(flight);
+        var previousPrice = PriceStore.instance().getAndUpdatePrice(handle, price);
+        cheapestFlights.priceChanged(handle, previousPrice, price);
+    }
+}
@@ -0,0 +1,133 @@
+package org.paumard.flightmonitoring.business.service;
+
+import org.junit.jupiter.api.Test;
+import org.paumard.flightmonitoring.business.model.City;
+import org.paumard.flightmonitoring.business.model.Flight;
+import org.paumard.flightmonitoring.business.model.FlightID;
+import org.paumard.flightmonitoring.business.model.SimpleFlight;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachingDBServiceTest {
+
+    private static final City PARIS = new City("Paris");
+    private static final City ATLANTA = new City("Atlanta");
+
+    private static final class CountingDBService implements DBService {
+
+        private final AtomicInteger fetches = new AtomicInteger();
+        private final AtomicInteger version = new AtomicInteger();
+        private volatile CountDownLatch loading = new CountDownLatch(0);
+        private volatile CountDownLatch release = new CountDownLatch(0);
+
+        public Flight fetchFlight(FlightID flightID) {
+            fetches.incrementAndGet();
+            var flight = new SimpleFlight(
+                    new SimpleFlightID(((SimpleFlightID) flightID).id() + "#" + version.get()), PARIS, ATLANTA);
+            loading.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return flight;
+        }
+
+        public void updatePrices(PriceBatch batch) {
+        }
+    }
+
+    @Test
+    public void should_load_a_missing_flight_once_for_concurrent_readers() throws Exception {
+        var db = new CountingDBService();
+        db.loading = new CountDownLatch(1);
+        db.release = new CountDownLatch(1);
+        var cache = new CachingDBService(db, 10);
+        var flightID = new SimpleFlightID("PaAt");
+
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            var results = new ArrayList<Future<Flight>>();
+            for (int index = 0; index < 8; index++) {
+                results.add(executor.submit(() -> cache.fetchFlight(flightID)));
+            }
+            assertThat(db.loading.await(10, TimeUnit.SECONDS)).isTrue();
+            while (cache.stats().loadWaits() < 7) {
+                Thread.onSpinWait();
+            }
+            db.release.countDown();
+            var first = results.getFirst().get();
+            for (var result : results) {
+                assertThat(result.get()).isSameAs(first);
+            }
+        }
+
+        assertThat(db.fetches).hasValue(1);
+        var stats = cache.stats();
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.loadWaits()).isEqualTo(7);
+        assertThat(stats.hits()).isZero();
+
+        cache.fetchFlight(flightID);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_evict_the_least_recently_used_flight() {
+        var db = new CountingDBService();
+        var cache = new CachingDBService(db, 2);
+        var first = new SimpleFlightID("PaAt");
+        var second = new SimpleFlightID("AmNY");
+        var third = new SimpleFlightID("LoMi");
+
+        cache.fetchFlight(first);
+        cache.fetchFlight(second);
+        cache.fetchFlight(first);
+        cache.fetchFlight(third);
+
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().size()).isEqualTo(2);
+
+        cache.fetchFlight(first);
+        cache.fetchFlight(third);
+        assertThat(db.fetches).hasValue(3);
+
+        cache.fetchFlights(List.of(second));
+        assertThat(db.fetches).hasValue(4);
+        assertThat(cache.stats().evictions()).isEqualTo(2);
+        cache.fetchFlight(third);
+        assertThat(db.fetches).hasValue(4);
+        cache.fetchFlight(first);
+        assertThat(db.fetches).hasValue(5);
+    }
+
+    @Test
+    public void should_not_cache_a_load_invalidated_while_in_flight() throws Exception {
+        var db = new CountingDBService();
+        db.loading = new CountDownLatch(1);
+        db.release = new CountDownLatch(1);
+        var cache = new CachingDBService(db, 10);
+        var flightID = new SimpleFlightID("PaAt");
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            var stale = executor.submit(() -> cache.fetchFlight(flightID));
+            assertThat(db.loading.await(10, TimeUnit.SECONDS)).isTrue();
+            cache.invalidate(flightID);
+            db.version.incrementAndGet();
+            db.release.countDown();
+            assertThat(((SimpleFlight) stale.get()).id().id()).isEqualTo("PaAt#0");
+        }
+
+        var fresh = (SimpleFlight) cache.fetchFlight(flightID);
+        assertThat(fresh.id().id()).isEqualTo("PaAt#1");
+        assertThat(db.fetches).hasValue(2);
+    }
+}
@@ -1,51 +1,96 @@
 package org.paumard.flightmonitoring;
 
 import org.paumard.flightmonitoring.business.FlightMonitoring;
+import org.paumard.flightmonitoring.business.alert.PriceWatch;
+import org.paumard.flightmonitoring.business.metrics.Metrics;
+import org.paumard.flightmonitoring.business.metrics.MetricsReporter;
 import org.paumard.flightmonitoring.business.model.MultilegFlightID;
 import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+import org.paumard.flightmonitoring.business.service.CachingDBService;
 import org.paumard.flightmonitoring.business.service.DBService;
 import org.paumard.flightmonitoring.business.service.FlightGUIService;
 import org.paumard.flightmonitoring.business.service.PriceMonitoringService;
 import org.paumard.flightmonitoring.db.FlightDBService;
+import org.paumard.flightmonitoring.gui.FlightAlertGUI;
 import org.paumard.flightmonitoring.gui.FlightGUI;
 import org.paumard.flightmonitoring.pricemonitoring.FlightPriceMonitoringService;
+import org.paumard.flightmonitoring.pricemonitoring.feed.PriceDistribution;
+import org.paumard.flightmonitoring.pricemonitoring.feed.PriceFeed;
+import org.paumard.flightmonitoring.pricemonitoring.feed.ReplayPriceFeed;
+import org.paumard.flightmonitoring.pricemonitoring.feed.SocketPriceFeed;
+import org.paumard.flightmonitoring.pricemonitoring.feed.SyntheticPriceFeed;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException, InterruptedException {
+
+        var shutdownRequested = new CountDownLatch(1);
+        var shutdownDone = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            shutdownRequested.countDown();
+            try {
+                shutdownDone.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        Metrics.instance().registerMBean();
 
-        DBService dbService =
-                new FlightDBService();
-        FlightGUIService guiService =
-                new FlightGUI();
-        PriceMonitoringService monitoringService =
-                new FlightPriceMonitoringService();
-        var flightMonitoring =
-                new FlightMonitoring(
-                        dbService,
-                        guiService,
-                        monitoringService);
+        try (var metricsReporter = new MetricsReporter(
+                     Metrics.instance(), System.err, Duration.parse(System.getProperty("metrics.period", "PT1M")));
+             DBService dbService =
+                     args.length > 0 ?
+                             new FlightDBService(Path.of(args[0])) :
+                             new FlightDBService();
+             FlightGUIService guiService =
+                     new FlightGUI();
+             PriceMonitoringService monitoringService =
+                     new FlightPriceMonitoringService(priceFeed(System.getProperty("feed", "synthetic")));
+             var flightMonitoring =
+                     new FlightMonitoring(
+                             new CachingDBService(dbService, 10_000),
+                             guiService,
+                             monitoringService,
+                             new FlightAlertGUI())) {
 
-        var f1 = new SimpleFlightID("PaAt");
-        var f2 = new SimpleFlightID("AmNY");
-        var f3 = new MultilegFlightID("LoPaMi");
-        var f4 = new MultilegFlightID("FrLoWa");
+            var f1 = new SimpleFlightID("PaAt");
+            var f2 = new SimpleFlightID("AmNY");
+            var f3 = new MultilegFlightID("LoPaMi");
+            var f4 = new MultilegFlightID("FrLoWa");
 
-        flightMonitoring.followFlight(f1);
-        flightMonitoring.followFlight(f2);
-        flightMonitoring.followFlight(f3);
-        flightMonitoring.followFlight(f4);
+            var flightIDs = List.of(f1, f2, f3, f4);
 
-        flightMonitoring.monitorFlight(f1);
-        flightMonitoring.monitorFlight(f2);
-        flightMonitoring.monitorFlight(f3);
-        flightMonitoring.monitorFlight(f4);
+            flightMonitoring.followFlights(flightIDs);
+            flightMonitoring.monitorFlights(flightIDs);
+            flightMonitoring.watchPrice(new PriceWatch(f1, PriceWatch.Direction.BELOW, 85));
+            flightMonitoring.watchPrice(new PriceWatch(f3, PriceWatch.Direction.ABOVE, 115));
 
-        monitoringService.updatePrices();
-        flightMonitoring.launchDisplay();
+            monitoringService.updatePrices();
+            flightMonitoring.launchDisplay();
 
-        while (true) {
+            shutdownRequested.await();
+            metricsReporter.report();
+        } finally {
+            shutdownDone.countDown();
+        }
+    }
 
+    private static PriceFeed priceFeed(String feed) throws IOException {
+        if (feed.startsWith("replay:")) {
+            return new ReplayPriceFeed(Path.of(feed.substring("replay:".length())), 1.0);
+        } else if (feed.startsWith("socket:")) {
+            return new SocketPriceFeed(Integer.parseInt(feed.substring("socket:".length())));
+        } else if (feed.equals("synthetic")) {
+            return new SyntheticPriceFeed(314L, new PriceDistribution.Uniform(80, 120));
         }
+        throw new IllegalArgumentException("Unknown price feed: " + feed);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package org.paumard.flightmonitoring;
+
+import org.paumard.flightmonitoring.business.model.FlightID;
+import org.paumard.flightmonitoring.pricemonitoring.feed.PriceDistribution;
+import org.paumard.flightmonitoring.pricemonitoring.feed.PriceLine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+public class PriceFeedSimulator {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 4) {
+            System.out.println("Usage: PriceFeedSimulator <port|file> <updates> <updates per second> <S:id|M:id>...");
+            return;
+        }
+        var updates = Long.parseLong(args[1]);
+        var rate = Long.parseLong(args[2]);
+        var flightIDs = new FlightID[args.length - 3];
+        for (int index = 0; index < flightIDs.length; index++) {
+            flightIDs[index] = PriceLine.parseFlightID(args[index + 3]);
+        }
+
+        try (var writer = open(args[0])) {
+            simulate(writer, updates, rate, flightIDs, new PriceDistribution.Uniform(80, 120));
+        }
+    }
+
+    private static void simulate(Writer writer, long updates, long rate, FlightID[] flightIDs,
+                                 PriceDistribution distribution) throws IOException, InterruptedException {
+        var random = new SplittableRandom(314L);
+        var timestamp = System.currentTimeMillis();
+        var start = System.nanoTime();
+        for (long update = 0; update < updates; update++) {
+            var elapsed = rate > 0 ? TimeUnit.SECONDS.toNanos(update) / rate : 0L;
+            var delay = start + elapsed - System.nanoTime();
+            if (delay > TimeUnit.MILLISECONDS.toNanos(1)) {
+                writer.flush();
+                TimeUnit.NANOSECONDS.sleep(delay);
+            }
+            var flightID = flightIDs[(int) (update % flightIDs.length)];
+            var line = new PriceLine(timestamp + TimeUnit.NANOSECONDS.toMillis(elapsed), flightID, distribution.sample(random));
+            writer.write(line.format());
+            writer.write('\n');
+        }
+    }
+
+    private static Writer open(String target) throws IOException {
+        if (target.chars().allMatch(Character::isDigit)) {
+            var channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(target)));
+            return new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.US_ASCII), 1 << 16);
+        }
+        return Files.newBufferedWriter(Path.of(target), StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,89 @@
+package org.paumard.flightmonitoring;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.paumard.flightmonitoring.business.FlightMonitoring;
+import org.paumard.flightmonitoring.business.model.MultilegFlightID;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+import org.paumard.flightmonitoring.db.FlightDBService;
+import org.paumard.flightmonitoring.gui.FlightGUI;
+import org.paumard.flightmonitoring.pricemonitoring.FlightPriceMonitoringService;
+
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FlightMonitoringEventsTest {
+
+    private static final String FLIGHT_FETCH = "org.paumard.flightmonitoring.FlightFetch";
+    private static final String PRICE_TICK = "org.paumard.flightmonitoring.PriceTick";
+    private static final String DISPLAY_FRAME = "org.paumard.flightmonitoring.DisplayFrame";
+
+    @Test
+    void should_record_fetch_tick_and_display_events() throws Exception {
+        var recordingFile = Files.createTempFile("flight-monitoring", ".jfr");
+        try (var recording = new Recording()) {
+            for (var eventName : List.of(FLIGHT_FETCH, PRICE_TICK, DISPLAY_FRAME)) {
+                recording.enable(eventName).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+
+            var flightIDs = List.of(new SimpleFlightID("PaAt"), new MultilegFlightID("LoPaMi"));
+            try (var dbService = new FlightDBService();
+                 var flightGUI = new FlightGUI(Channels.newChannel(OutputStream.nullOutputStream()));
+                 var monitoringService = new FlightPriceMonitoringService(Duration.ofMillis(10));
+                 var flightMonitoring = new FlightMonitoring(dbService, flightGUI, monitoringService)) {
+
+                flightMonitoring.followFlights(flightIDs);
+                flightMonitoring.monitorFlights(flightIDs);
+                monitoringService.updatePrices();
+                flightMonitoring.launchDisplay();
+
+                var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (flightGUI.writtenFrames() < 3 && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+            }
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        try {
+            var events = RecordingFile.readAllEvents(recordingFile);
+            assertThat(events).extracting(event -> event.getEventType().getName())
+                    .contains(FLIGHT_FETCH, PRICE_TICK, DISPLAY_FRAME);
+
+            var fetch = events.stream()
+                    .filter(event -> event.getEventType().getName().equals(FLIGHT_FETCH))
+                    .findFirst().orElseThrow();
+            assertThat(fetch.getBoolean("bulk")).isTrue();
+            assertThat(fetch.getInt("simpleFlights")).isEqualTo(1);
+            assertThat(fetch.getInt("multilegFlights")).isEqualTo(1);
+
+            assertThat(events)
+                    .filteredOn(event -> event.getEventType().getName().equals(PRICE_TICK))
+                    .extracting(event -> event.getInt("partitions"))
+                    .allMatch(partitions -> partitions > 0);
+            var frames = events.stream()
+                    .filter(event -> event.getEventType().getName().equals(DISPLAY_FRAME))
+                    .toList();
+            assertThat(frames).extracting(RecordedEvent::getDuration).isNotEmpty();
+            assertThat(frames).extracting(event -> event.getInt("simpleFlights"))
+                    .allMatch(simpleFlights -> simpleFlights <= 1)
+                    .contains(1);
+            assertThat(frames).extracting(event -> event.getInt("multilegFlights"))
+                    .allMatch(multilegFlights -> multilegFlights <= 1)
+                    .contains(1);
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.paumard.flightmonitoring.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        var include = args.length > 0 ? args[0] : ".*";
+        var threadCounts = args.length > 1 ?
+                args[1].split(",") :
+                new String[]{"1", String.valueOf(Runtime.getRuntime().availableProcessors())};
+
+        for (var threadCount : threadCounts) {
+            var threads = Integer.parseInt(threadCount.strip());
+            var options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.CSV)
+                    .result("benchmarks-" + threads + "-threads.csv")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
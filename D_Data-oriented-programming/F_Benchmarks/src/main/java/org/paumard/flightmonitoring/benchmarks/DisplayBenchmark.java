@@ -0,0 +1,59 @@
+package org.paumard.flightmonitoring.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.paumard.flightmonitoring.business.model.City;
+import org.paumard.flightmonitoring.business.model.Flight;
+import org.paumard.flightmonitoring.business.model.MultilegFlight;
+import org.paumard.flightmonitoring.business.model.MultilegFlightID;
+import org.paumard.flightmonitoring.business.model.Price;
+import org.paumard.flightmonitoring.business.model.SimpleFlight;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+import org.paumard.flightmonitoring.gui.FlightGUI;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DisplayBenchmark {
+
+    @Param({"1000", "100000"})
+    public int flightCount;
+
+    private Flight[] flights;
+    private Price[] prices;
+    private FlightGUI flightGUI;
+
+    @Setup
+    public void setUp() {
+        var paris = new City("Paris");
+        var london = new City("London");
+        var miami = new City("Miami");
+        flights = new Flight[flightCount];
+        prices = new Price[flightCount];
+        for (int index = 0; index < flightCount; index++) {
+            flights[index] = index % 2 == 0 ?
+                    new SimpleFlight(new SimpleFlightID("Display" + index), paris, miami) :
+                    new MultilegFlight(new MultilegFlightID("Display" + index), london, paris, miami);
+            prices[index] = new Price(80 + index % 40);
+        }
+        flightGUI = new FlightGUI(Fixtures.nullChannel());
+    }
+
+    @TearDown
+    public void tearDown() {
+        flightGUI.close();
+    }
+
+    @Benchmark
+    public void displayFrame() {
+        flightGUI.beginFrame();
+        for (int index = 0; index < flights.length; index++) {
+            flightGUI.displayFlight(flights[index], prices[index]);
+        }
+        flightGUI.endFrame();
+    }
+}
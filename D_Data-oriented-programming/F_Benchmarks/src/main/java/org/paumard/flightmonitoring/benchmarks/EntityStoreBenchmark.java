@@ -0,0 +1,46 @@
+package org.paumard.flightmonitoring.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.paumard.flightmonitoring.db.FlightEntityStore;
+import org.paumard.flightmonitoring.db.model.SimpleFlightEntity;
+import org.paumard.flightmonitoring.db.model.SimpleFlightPK;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityStoreBenchmark {
+
+    @Param({"16", "56"})
+    public int flightCount;
+
+    private SimpleFlightPK[] flightPKs;
+    private FlightEntityStore entityStore;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Setup
+    public void setUp() {
+        flightPKs = Fixtures.routedSimpleFlightIDs(flightCount).stream()
+                .map(flightID -> new SimpleFlightPK(flightID.id()))
+                .toArray(SimpleFlightPK[]::new);
+        entityStore = new FlightEntityStore();
+        for (var flightPK : flightPKs) {
+            entityStore.simpleFlight(flightPK);
+        }
+    }
+
+    @Benchmark
+    public SimpleFlightEntity simpleFlight(Cursor cursor) {
+        var flightPK = flightPKs[cursor.next];
+        cursor.next = cursor.next + 1 == flightPKs.length ? 0 : cursor.next + 1;
+        return entityStore.simpleFlight(flightPK);
+    }
+}
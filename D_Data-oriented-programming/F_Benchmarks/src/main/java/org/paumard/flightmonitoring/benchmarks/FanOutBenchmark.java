@@ -0,0 +1,80 @@
+package org.paumard.flightmonitoring.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.paumard.flightmonitoring.business.service.FlightBatchConsumer;
+import org.paumard.flightmonitoring.business.service.PriceTick;
+import org.paumard.flightmonitoring.pricemonitoring.ExecutionMode;
+import org.paumard.flightmonitoring.pricemonitoring.FlightConsumerRegistry;
+import org.paumard.flightmonitoring.pricemonitoring.PriceFanOut;
+import org.paumard.flightmonitoring.pricemonitoring.feed.PriceFeed;
+
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FanOutBenchmark {
+
+    @Param({"100000"})
+    public int flightCount;
+
+    @Param({"1000"})
+    public int consumerCount;
+
+    @Param({"0", "1"})
+    public int consumerDelayMillis;
+
+    @Param
+    public ExecutionMode executionMode;
+
+    private final LongAdder deliveredPrices = new LongAdder();
+    private SubmissionPublisher<PriceTick> publisher;
+    private PriceFanOut fanOut;
+    private long expectedPrices;
+
+    @Setup
+    public void setUp() {
+        var registry = new FlightConsumerRegistry();
+        var consumers = new FlightBatchConsumer[consumerCount];
+        for (int index = 0; index < consumerCount; index++) {
+            consumers[index] = batch -> {
+                if (consumerDelayMillis > 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(consumerDelayMillis));
+                }
+                deliveredPrices.add(batch.size());
+            };
+        }
+        var flightIDs = Fixtures.syntheticFlightIDs("FanOut" + System.identityHashCode(this) + "-", flightCount);
+        for (int index = 0; index < flightCount; index++) {
+            registry.register(flightIDs[index], consumers[index % consumerCount]);
+        }
+        PriceFeed changingPrices = _ -> {
+            var ticks = new int[1];
+            return _ -> ticks[0]++;
+        };
+        publisher = new SubmissionPublisher<>();
+        fanOut = new PriceFanOut(registry, Runtime.getRuntime().availableProcessors(), changingPrices, publisher, executionMode);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fanOut.close();
+        publisher.close();
+    }
+
+    @Benchmark
+    public void tick() {
+        var completedTicks = fanOut.completedTicks();
+        expectedPrices += flightCount;
+        fanOut.tick();
+        while (fanOut.completedTicks() == completedTicks || deliveredPrices.sum() < expectedPrices) {
+            LockSupport.parkNanos(1_000L);
+        }
+    }
+}
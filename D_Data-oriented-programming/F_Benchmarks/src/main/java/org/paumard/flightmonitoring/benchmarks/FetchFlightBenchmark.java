@@ -0,0 +1,71 @@
+package org.paumard.flightmonitoring.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.paumard.flightmonitoring.business.model.Flight;
+import org.paumard.flightmonitoring.business.model.FlightID;
+import org.paumard.flightmonitoring.business.service.CachingDBService;
+import org.paumard.flightmonitoring.business.service.DBService;
+import org.paumard.flightmonitoring.db.FlightDBService;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FetchFlightBenchmark {
+
+    public enum Kind {SIMPLE, MULTILEG}
+
+    public enum Cache {COLD, CACHED}
+
+    @Param({"16", "56"})
+    public int flightCount;
+
+    @Param
+    public Kind kind;
+
+    @Param
+    public Cache cache;
+
+    private FlightID[] flightIDs;
+    private DBService dbService;
+    private PrintStream stdout;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Setup
+    public void setUp() {
+        stdout = Fixtures.silenceStdout();
+        flightIDs = switch (kind) {
+            case SIMPLE -> Fixtures.routedSimpleFlightIDs(flightCount).toArray(FlightID[]::new);
+            case MULTILEG -> Fixtures.routedMultilegFlightIDs(flightCount).toArray(FlightID[]::new);
+        };
+        var flightDBService = new FlightDBService();
+        dbService = switch (cache) {
+            case COLD -> flightDBService;
+            case CACHED -> new CachingDBService(flightDBService, flightCount);
+        };
+        for (var flightID : flightIDs) {
+            dbService.fetchFlight(flightID);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public Flight fetchFlight(Cursor cursor) {
+        var flightID = flightIDs[cursor.next];
+        cursor.next = cursor.next + 1 == flightIDs.length ? 0 : cursor.next + 1;
+        return dbService.fetchFlight(flightID);
+    }
+}
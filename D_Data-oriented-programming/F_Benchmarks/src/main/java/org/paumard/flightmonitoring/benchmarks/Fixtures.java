@@ -0,0 +1,83 @@
+package org.paumard.flightmonitoring.benchmarks;
+
+import org.paumard.flightmonitoring.business.model.MultilegFlightID;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+
+    private static final String[] CITY_CODES = {"Pa", "Lo", "Am", "Fr", "NY", "Wa", "At", "Mi"};
+
+    private Fixtures() {
+    }
+
+    static List<SimpleFlightID> routedSimpleFlightIDs(int count) {
+        var flightIDs = new ArrayList<SimpleFlightID>(count);
+        for (var from : CITY_CODES) {
+            for (var to : CITY_CODES) {
+                if (flightIDs.size() < count && !from.equals(to)) {
+                    flightIDs.add(new SimpleFlightID(from + to));
+                }
+            }
+        }
+        return checkCount(flightIDs, count);
+    }
+
+    static List<MultilegFlightID> routedMultilegFlightIDs(int count) {
+        var flightIDs = new ArrayList<MultilegFlightID>(count);
+        for (var from : CITY_CODES) {
+            for (var via : CITY_CODES) {
+                for (var to : CITY_CODES) {
+                    if (flightIDs.size() < count && !from.equals(via) && !via.equals(to) && !from.equals(to)) {
+                        flightIDs.add(new MultilegFlightID(from + via + to));
+                    }
+                }
+            }
+        }
+        return checkCount(flightIDs, count);
+    }
+
+    static SimpleFlightID[] syntheticFlightIDs(String prefix, int count) {
+        var flightIDs = new SimpleFlightID[count];
+        for (int index = 0; index < count; index++) {
+            flightIDs[index] = new SimpleFlightID(prefix + index);
+        }
+        return flightIDs;
+    }
+
+    static PrintStream silenceStdout() {
+        var stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return stdout;
+    }
+
+    static WritableByteChannel nullChannel() {
+        return new WritableByteChannel() {
+            public int write(ByteBuffer buffer) {
+                var remaining = buffer.remaining();
+                buffer.position(buffer.limit());
+                return remaining;
+            }
+
+            public boolean isOpen() {
+                return true;
+            }
+
+            public void close() {
+            }
+        };
+    }
+
+    private static <T> List<T> checkCount(List<T> flightIDs, int count) {
+        if (flightIDs.size() < count) {
+            throw new IllegalArgumentException("Only " + flightIDs.size() + " routes are available, not " + count);
+        }
+        return flightIDs;
+    }
+}
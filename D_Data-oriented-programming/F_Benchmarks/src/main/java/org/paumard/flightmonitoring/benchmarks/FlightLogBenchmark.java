@@ -0,0 +1,78 @@
+package org.paumard.flightmonitoring.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.paumard.flightmonitoring.db.FlightEntityStore;
+import org.paumard.flightmonitoring.db.model.SimpleFlightPK;
+import org.paumard.flightmonitoring.db.storage.FlightLog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlightLogBenchmark {
+
+    @Param({"1000000"})
+    public int flightCount;
+
+    @Param({"1000000"})
+    public int priceCount;
+
+    private Path flightLog;
+    private Path priceLog;
+
+    @Setup
+    public void setUp() throws IOException {
+        flightLog = Files.createTempFile("flights", ".log");
+        try (var log = FlightLog.open(flightLog, _ -> {})) {
+            var flightIDs = Fixtures.syntheticFlightIDs("F", flightCount);
+            for (var flightID : flightIDs) {
+                log.appendFlight(new SimpleFlightPK(flightID.id()));
+            }
+            for (int index = 0; index < priceCount; index++) {
+                log.appendPrice(new SimpleFlightPK(flightIDs[index % flightCount].id()), 100 + index % 40, index);
+            }
+        }
+
+        priceLog = Files.createTempFile("prices", ".log");
+        var flightPKs = Fixtures.routedSimpleFlightIDs(56).stream()
+                .map(flightID -> new SimpleFlightPK(flightID.id()))
+                .toArray(SimpleFlightPK[]::new);
+        try (var log = FlightLog.open(priceLog, _ -> {})) {
+            for (var flightPK : flightPKs) {
+                log.appendFlight(flightPK);
+            }
+            for (int index = 0; index < priceCount; index++) {
+                log.appendPrice(flightPKs[index % flightPKs.length], 100 + index % 40, index);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(flightLog);
+        Files.deleteIfExists(priceLog);
+    }
+
+    @Benchmark
+    public long replayFlightLog() throws IOException {
+        var records = new LongAdder();
+        try (var _ = FlightLog.open(flightLog, _ -> records.increment())) {
+            return records.sum();
+        }
+    }
+
+    @Benchmark
+    public int recoverEntityStore() throws IOException {
+        try (var entityStore = new FlightEntityStore(priceLog)) {
+            return entityStore.simpleFlightCount();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.paumard.flightmonitoring.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.paumard.flightmonitoring.business.FlightMonitoring;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+import org.paumard.flightmonitoring.db.FlightDBService;
+import org.paumard.flightmonitoring.gui.FlightGUI;
+import org.paumard.flightmonitoring.pricemonitoring.FlightPriceMonitoringService;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FollowFlightBenchmark {
+
+    @Param({"1000", "100000"})
+    public int flightCount;
+
+    private FlightDBService dbService;
+    private FlightGUI flightGUI;
+    private FlightPriceMonitoringService monitoringService;
+    private FlightMonitoring flightMonitoring;
+    private PrintStream stdout;
+
+    @State(Scope.Thread)
+    public static class ThreadFlights {
+
+        private SimpleFlightID[] flightIDs;
+
+        @Setup
+        public void setUp(FollowFlightBenchmark benchmark, ThreadParams threadParams) {
+            flightIDs = Fixtures.syntheticFlightIDs("Follow" + threadParams.getThreadIndex() + "-", benchmark.flightCount);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        stdout = Fixtures.silenceStdout();
+        dbService = new FlightDBService();
+        flightGUI = new FlightGUI(Fixtures.nullChannel());
+        monitoringService = new FlightPriceMonitoringService();
+        flightMonitoring = new FlightMonitoring(dbService, flightGUI, monitoringService);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        flightMonitoring.close();
+        monitoringService.close();
+        flightGUI.close();
+        dbService.close();
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public void followFlights(ThreadFlights threadFlights) {
+        for (var flightID : threadFlights.flightIDs) {
+            flightMonitoring.followFlight(flightID);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.paumard.flightmonitoring.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.paumard.flightmonitoring.business.model.FlightHandles;
+import org.paumard.flightmonitoring.business.model.Price;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+import org.paumard.flightmonitoring.business.model.SimpleFlight;
+import org.paumard.flightmonitoring.business.service.FlightBatchConsumer;
+import org.paumard.flightmonitoring.business.service.FlightConsumer;
+import org.paumard.flightmonitoring.business.service.PriceBatch;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceTickBenchmark {
+
+    @Param({"1000", "100000"})
+    public int flightCount;
+
+    private FlightConsumer[] consumers;
+    private PriceBatch[] batches;
+    private FlightBatchConsumer batchConsumer;
+
+    @State(Scope.Thread)
+    public static class Ticks {
+        private int tick;
+    }
+
+    @Setup
+    public void setUp() {
+        var flightIDs = Fixtures.syntheticFlightIDs("Tick", flightCount);
+        consumers = new FlightConsumer[flightCount];
+        batches = new PriceBatch[]{new PriceBatch(flightCount), new PriceBatch(flightCount)};
+        for (int index = 0; index < flightCount; index++) {
+            var flightID = flightIDs[index];
+            consumers[index] = price -> SimpleFlight.updatePrice(flightID, price);
+            var handle = FlightHandles.instance().handleOf(flightID);
+            batches[0].add(handle, 100 + index % 20);
+            batches[1].add(handle, 101 + index % 20);
+        }
+        var priceStore = PriceStore.instance();
+        batchConsumer = batch -> {
+            for (int index = 0; index < batch.size(); index++) {
+                priceStore.updatePrice(batch.handle(index), batch.price(index));
+            }
+        };
+    }
+
+    @Benchmark
+    public void consumerPerFlight(Ticks ticks) {
+        var batch = batches[ticks.tick++ & 1];
+        for (int index = 0; index < consumers.length; index++) {
+            consumers[index].updateFlight(new Price(batch.price(index)));
+        }
+    }
+
+    @Benchmark
+    public void batchIntoPriceStore(Ticks ticks) {
+        batchConsumer.updateFlights(batches[ticks.tick++ & 1]);
+    }
+}
@@ -0,0 +1,92 @@
+package org.paumard.flightmonitoring.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.paumard.flightmonitoring.business.model.City;
+import org.paumard.flightmonitoring.business.model.CityCodes;
+import org.paumard.flightmonitoring.business.model.Price;
+import org.paumard.flightmonitoring.business.model.PriceStore;
+import org.paumard.flightmonitoring.business.model.SimpleFlightID;
+import org.paumard.flightmonitoring.db.model.CityEntity;
+import org.paumard.flightmonitoring.db.model.PlaneEntity;
+import org.paumard.flightmonitoring.db.model.PriceEntity;
+import org.paumard.flightmonitoring.db.model.SimpleFlightEntity;
+import org.paumard.flightmonitoring.db.model.SimpleFlightPK;
+import org.paumard.flightmonitoring.db.route.CityGraph;
+import org.paumard.flightmonitoring.db.route.Itinerary;
+import org.paumard.flightmonitoring.db.route.RouteSearch;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteSearchBenchmark {
+
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"5000"})
+    public int cityCount;
+
+    @Param({"200000"})
+    public int flightCount;
+
+    @Param({"1", "2", "3", "4"})
+    public int maxLegs;
+
+    @Param({"10"})
+    public int itineraryCount;
+
+    private RouteSearch routeSearch;
+    private City[] from;
+    private City[] to;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Setup
+    public void setUp() {
+        var random = new SplittableRandom(314L);
+        var cities = new CityEntity[cityCount];
+        for (int index = 0; index < cityCount; index++) {
+            var name = "City-" + index;
+            cities[index] = new CityEntity(CityCodes.instance().codeOf(new City(name)), name);
+        }
+        var routes = new HashSet<Long>();
+        var simpleFlights = new ArrayList<SimpleFlightEntity>(flightCount);
+        while (simpleFlights.size() < flightCount) {
+            var source = random.nextInt(cityCount);
+            var target = random.nextInt(cityCount);
+            if (source == target || !routes.add((long) source * cityCount + target)) {
+                continue;
+            }
+            var flightPK = new SimpleFlightPK("R" + source + "-" + target);
+            simpleFlights.add(new SimpleFlightEntity(flightPK, cities[source], cities[target],
+                    new PriceEntity(100), new PlaneEntity("Airbus A350")));
+            PriceStore.instance().updatePrice(new SimpleFlightID(flightPK.flightId()), new Price(50 + random.nextInt(500)));
+        }
+        routeSearch = new RouteSearch(CityGraph.of(simpleFlights));
+
+        from = new City[QUERY_COUNT];
+        to = new City[QUERY_COUNT];
+        for (int index = 0; index < QUERY_COUNT; index++) {
+            from[index] = new City(cities[random.nextInt(cityCount)].name());
+            to[index] = new City(cities[random.nextInt(cityCount)].name());
+        }
+    }
+
+    @Benchmark
+    public List<Itinerary> cheapest(Cursor cursor) {
+        var query = cursor.next;
+        cursor.next = (query + 1) & (QUERY_COUNT - 1);
+        return routeSearch.cheapest(from[query], to[query], itineraryCount, maxLegs);
+    }
+}